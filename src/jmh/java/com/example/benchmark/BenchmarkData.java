@@ -0,0 +1,160 @@
+package com.example.benchmark;
+
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.ReturnRequest;
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.mapper.TransactionMapperImpl;
+import com.example.service.ParallelExecutionPolicy;
+import com.example.service.PipelineMetrics;
+import com.example.service.ReturnService;
+import com.example.service.TaxCalculatorService;
+import com.example.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded synthetic requests for the benchmarks. The same seed, size and period count always produce the same data,
+ * so results are comparable between runs and branches.
+ * <p>
+ * Expenses are spread over roughly one year with about 2% negatives and 2% exact duplicates; P, Q and K periods
+ * start at random points of the same year.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+    static final BigDecimal WAGE = new BigDecimal("1500000");
+    static final int AGE = 29;
+    static final BigDecimal INFLATION = new BigDecimal("5.5");
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+    private static final int SPAN_SECONDS = 365 * 24 * 60 * 60;
+    private static final BigDecimal HUNDRED = new BigDecimal("100.0");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Starts a plain Spring context holding just the services under test, without the web layer.
+     */
+    static AnnotationConfigApplicationContext services() {
+        return services(Map.of());
+    }
+
+    /**
+     * As {@link #services()}, with the given {@code autosave.*} properties in place of their defaults.
+     */
+    static AnnotationConfigApplicationContext services(Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(SimpleMeterRegistry.class, ParallelExecutionPolicy.class, PipelineMetrics.class,
+                TransactionMapperImpl.class, TransactionService.class, TaxCalculatorService.class, ReturnService.class);
+        context.refresh();
+        return context;
+    }
+
+    static List<Expense> expenses(int count, long seed) {
+        Random random = new Random(seed);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && random.nextInt(50) == 0) {
+                Expense previous = expenses.get(random.nextInt(i));
+                expenses.add(Expense.builder().amount(previous.getAmount()).date(previous.getDate()).build());
+                continue;
+            }
+            long paise = random.nextInt(50) == 0 ? -random.nextInt(100_000) : random.nextInt(5_000_000);
+            expenses.add(Expense.builder()
+                    .amount(random.nextBoolean() ? BigDecimal.valueOf(paise, 2) : BigDecimal.valueOf(paise / 100))
+                    .date(BASE.plusSeconds(random.nextInt(SPAN_SECONDS)))
+                    .build());
+        }
+        return expenses;
+    }
+
+    /**
+     * @return The expenses as already-parsed transactions, i.e. with ceiling and remanent filled in.
+     */
+    static List<TransactionDto> transactions(List<Expense> expenses) {
+        List<TransactionDto> transactions = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            BigDecimal ceiling = expense.getAmount().divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
+            transactions.add(TransactionDto.builder()
+                    .amount(expense.getAmount())
+                    .date(expense.getDate())
+                    .ceiling(ceiling)
+                    .remanent(ceiling.subtract(expense.getAmount()))
+                    .build());
+        }
+        return transactions;
+    }
+
+    static List<PConstraint> pPeriods(int count, long seed) {
+        Random random = new Random(seed ^ 0x50);
+        List<PConstraint> periods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = randomStart(random);
+            periods.add(PConstraint.builder().start(start).end(start.plusDays(1 + random.nextInt(60)))
+                    .extra(BigDecimal.valueOf(random.nextInt(100))).build());
+        }
+        return periods;
+    }
+
+    static List<QConstraint> qPeriods(int count, long seed) {
+        Random random = new Random(seed ^ 0x51);
+        List<QConstraint> periods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = randomStart(random);
+            periods.add(QConstraint.builder().start(start).end(start.plusDays(1 + random.nextInt(30)))
+                    .fixed(BigDecimal.valueOf(random.nextInt(50))).build());
+        }
+        return periods;
+    }
+
+    static List<KConstraint> kPeriods(int count, long seed) {
+        Random random = new Random(seed ^ 0x4B);
+        List<KConstraint> periods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = randomStart(random);
+            periods.add(KConstraint.builder().start(start).end(start.plusDays(1 + random.nextInt(120))).build());
+        }
+        return periods;
+    }
+
+    static ValidatorRequest validatorRequest(int transactions, int periods, long seed) {
+        return ValidatorRequest.builder()
+                .wage(WAGE)
+                .transactions(transactions(expenses(transactions, seed)))
+                .p(pPeriods(periods, seed))
+                .q(qPeriods(periods, seed))
+                .k(kPeriods(periods, seed))
+                .build();
+    }
+
+    static ReturnRequest returnRequest(int transactions, int periods, long seed) {
+        return ReturnRequest.builder()
+                .age(AGE)
+                .inflation(INFLATION)
+                .wage(WAGE)
+                .transactions(expenses(transactions, seed))
+                .p(pPeriods(periods, seed))
+                .q(qPeriods(periods, seed))
+                .k(kPeriods(periods, seed))
+                .build();
+    }
+
+    private static LocalDateTime randomStart(Random random) {
+        return BASE.plusSeconds(random.nextInt(SPAN_SECONDS));
+    }
+}
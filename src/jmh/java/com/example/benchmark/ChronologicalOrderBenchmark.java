@@ -0,0 +1,52 @@
+package com.example.benchmark;
+
+import com.example.dto.Expense;
+import com.example.engine.ChronologicalOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of ordering the investment-cap candidates by date with {@link ChronologicalOrder} against the previous
+ * {@code List.sort(Comparator.comparing(...))}, for input that arrives in date order and for shuffled input.
+ * Both include copying the list, since each sorts in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChronologicalOrderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+
+    @Param({"sorted", "shuffled"})
+    private String order;
+
+    private List<Expense> input;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkData.expenses(transactions, BenchmarkData.SEED);
+        if (order.equals("sorted")) {
+            input = new ArrayList<>(input);
+            input.sort(Comparator.comparing(Expense::getDate));
+        }
+    }
+
+    @Benchmark
+    public List<Expense> comparator() {
+        List<Expense> candidates = new ArrayList<>(input);
+        candidates.sort(Comparator.comparing(Expense::getDate));
+        return candidates;
+    }
+
+    @Benchmark
+    public List<Expense> chronologicalOrder() {
+        List<Expense> candidates = new ArrayList<>(input);
+        ChronologicalOrder.sort(candidates, Expense::getDate);
+        return candidates;
+    }
+}
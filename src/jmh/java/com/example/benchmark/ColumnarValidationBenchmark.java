@@ -0,0 +1,72 @@
+package com.example.benchmark;
+
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.engine.TransactionColumns;
+import com.example.model.Transaction;
+import com.example.service.TransactionService;
+import com.example.service.ValidationListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation of temporal validation over {@link TransactionColumns} against the object-based path, with
+ * no response built by either. Both start from the request's DTOs, so the columnar side includes filling the columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnarValidationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int transactions;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private ValidatorRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        transactionService = context.getBean(TransactionService.class);
+        request = BenchmarkData.validatorRequest(transactions, 10, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int objects() {
+        int[] valid = new int[1];
+        transactionService.validateTemporalConstraints(request, new ValidationListener() {
+            @Override
+            public void valid(Transaction transaction, Boolean inKPeriod) {
+                valid[0]++;
+            }
+
+            @Override
+            public void invalid(Transaction transaction, String message) {
+            }
+        });
+        return valid[0];
+    }
+
+    @Benchmark
+    public int columns() {
+        TransactionColumns columns = new TransactionColumns(request.getTransactions().size());
+        for (TransactionDto transaction : request.getTransactions()) {
+            transactionService.addTo(columns, transaction);
+        }
+        int valid = 0;
+        for (int row : transactionService.validateTemporalConstraints(columns, request.getWage(), request.getP(), request.getQ(), request.getK())) {
+            if (columns.verdict(row) == TransactionColumns.VALID) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.benchmark;
+
+import com.example.config.JsonDateConfig;
+import com.example.dto.Expense;
+import com.example.dto.TransactionDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON date handling through the {@code @JsonFormat} pattern's {@code DateTimeFormatter} against the
+ * {@link JsonDateConfig} codec: reading a {@code /transactions:parse} request and writing its response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DateCodecBenchmark {
+
+    private static final TypeReference<List<Expense>> EXPENSES = new TypeReference<>() {
+    };
+
+    @Param({"1000"})
+    private int expenses;
+
+    @Param({"formatter", "codec"})
+    private String dates;
+
+    private ObjectMapper mapper;
+    private byte[] request;
+    private List<TransactionDto> response;
+
+    @Setup
+    public void setUp() {
+        mapper = dates.equals("codec")
+                ? JsonMapper.builder().addModule(JsonDateConfig.fastDatesModule()).build()
+                : JsonMapper.builder().build();
+        List<Expense> generated = BenchmarkData.expenses(expenses, BenchmarkData.SEED);
+        request = mapper.writeValueAsBytes(generated);
+        response = BenchmarkData.transactions(generated);
+    }
+
+    @Benchmark
+    public List<Expense> readExpenses() {
+        return mapper.readValue(request, EXPENSES);
+    }
+
+    @Benchmark
+    public byte[] writeTransactions() {
+        return mapper.writeValueAsBytes(response);
+    }
+}
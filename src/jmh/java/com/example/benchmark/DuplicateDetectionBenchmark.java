@@ -0,0 +1,54 @@
+package com.example.benchmark;
+
+import com.example.engine.DuplicateDetector;
+import com.example.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Time and allocation of finding duplicates with {@link DuplicateDetector} against the previous
+ * {@code groupingBy} into a {@code HashMap} of lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DuplicateDetectionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+
+    private List<Transaction> input;
+
+    @Setup
+    public void setUp() {
+        input = BenchmarkData.expenses(transactions, BenchmarkData.SEED).stream()
+                .map(expense -> Transaction.builder().amount(expense.getAmount()).date(expense.getDate()).build())
+                .toList();
+    }
+
+    @Benchmark
+    public int detector() {
+        DuplicateDetector detector = new DuplicateDetector(input.size());
+        int duplicates = 0;
+        for (Transaction transaction : input) {
+            if (!detector.add(transaction)) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    @Benchmark
+    public int groupingBy() {
+        record TransactionKey(BigDecimal amount, LocalDateTime date) {}
+        Map<TransactionKey, List<Transaction>> grouped = input.stream()
+                .collect(Collectors.groupingBy(t -> new TransactionKey(t.getAmount(), t.getDate())));
+        return input.size() - grouped.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.benchmark;
+
+import com.example.domain.Money;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.engine.TemporalIndex;
+import com.example.mapper.TransactionMapper;
+import com.example.model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Frozen copy of the multi-pass {@code validateTemporalConstraints} pipeline as it was before the stages were fused,
+ * kept only as a baseline for {@link ValidationPipelineBenchmark}.
+ */
+class LegacyValidationPipeline {
+    private static final BigDecimal HUNDRED = new BigDecimal("100.0");
+
+    private final TransactionMapper transactionMapper;
+
+    LegacyValidationPipeline(TransactionMapper transactionMapper) {
+        this.transactionMapper = transactionMapper;
+    }
+
+    record FinalValidationInput(Transaction transaction, Boolean inKPeriod) {}
+
+    ValidatorResponse validateTemporalConstraints(ValidatorRequest validatorRequest) {
+        List<Transaction> allTransactions = transactionMapper.toEntityList(validatorRequest.getTransactions());
+        allTransactions.forEach(this::ensureTransactionIsInitialized);
+
+        List<InvalidTransactionDto> invalidTransactions = new ArrayList<>();
+
+        record TransactionKey(BigDecimal amount, LocalDateTime date) {}
+        Map<TransactionKey, List<Transaction>> grouped = allTransactions.stream()
+                .collect(Collectors.groupingBy(t -> new TransactionKey(t.getAmount(), t.getDate())));
+
+        List<Transaction> uniqueTransactions = new ArrayList<>();
+        for (List<Transaction> group : grouped.values()) {
+            uniqueTransactions.add(group.get(0));
+            if (group.size() > 1) {
+                group.subList(1, group.size()).forEach(dup ->
+                        invalidTransactions.add(transactionMapper.toInvalidDto(dup, "Duplicate transaction")));
+            }
+        }
+
+        List<Transaction> candidates = new ArrayList<>();
+        for (Transaction transaction : uniqueTransactions) {
+            if (transaction.getAmount() != null && transaction.getAmount().signum() < 0) {
+                invalidTransactions.add(transactionMapper.toInvalidDto(transaction, "Negative amounts are not allowed"));
+            } else {
+                candidates.add(transaction);
+            }
+        }
+
+        TemporalIndex temporalIndex = TemporalIndex.build(validatorRequest.getP(), validatorRequest.getQ(), validatorRequest.getK());
+        List<FinalValidationInput> processedTransactions = new ArrayList<>();
+        for (Transaction transaction : candidates) {
+            if (temporalIndex.overrideFor(transaction.getDate()) != null) {
+                transaction.setRemanent(temporalIndex.overrideFor(transaction.getDate()).getFixed());
+            }
+            transaction.setRemanent(transaction.getRemanent().add(temporalIndex.extraFor(transaction.getDate())));
+            processedTransactions.add(new FinalValidationInput(transaction, temporalIndex.inKPeriod(transaction.getDate())));
+        }
+
+        return applyInvestmentCap(processedTransactions, validatorRequest.getWage(), invalidTransactions);
+    }
+
+    private void ensureTransactionIsInitialized(Transaction transaction) {
+        if (transaction.getAmount() != null && (transaction.getRemanent() == null || transaction.getCeiling() == null)) {
+            BigDecimal ceiling = transaction.getAmount().divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
+            transaction.setCeiling(ceiling);
+            transaction.setRemanent(ceiling.subtract(transaction.getAmount()));
+        }
+    }
+
+    private ValidatorResponse applyInvestmentCap(List<FinalValidationInput> candidates, BigDecimal maxAmountToInvest,
+                                                 List<InvalidTransactionDto> initialInvalids) {
+        List<ValidTransactionDto> validTransactions = new ArrayList<>();
+        List<InvalidTransactionDto> invalidTransactions = new ArrayList<>(initialInvalids);
+
+        candidates.sort(Comparator.comparing(c -> c.transaction().getDate()));
+
+        long maxPaise = Money.toPaise(maxAmountToInvest);
+        long investedPaise = 0;
+        for (FinalValidationInput candidate : candidates) {
+            Transaction transaction = candidate.transaction();
+            if (investedPaise + transaction.getAmountPaise() <= maxPaise) {
+                validTransactions.add(transactionMapper.toValidDto(transaction, candidate.inKPeriod()));
+                investedPaise += transaction.getAmountPaise();
+            } else {
+                invalidTransactions.add(transactionMapper.toInvalidDto(transaction, "Investment exceeds maximum allowed amount"));
+            }
+        }
+
+        return ValidatorResponse.builder()
+                .valid(validTransactions)
+                .invalid(invalidTransactions)
+                .build();
+    }
+}
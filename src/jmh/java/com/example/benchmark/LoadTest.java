@@ -0,0 +1,138 @@
+package com.example.benchmark;
+
+import com.example.AutoSaveEngineApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing the default platform-thread Tomcat pool with the {@code virtual} profile.
+ * <p>
+ * For each mode the application is started in-process on a random port. {@code concurrency} clients then send a mix of
+ * {@code /transactions:parse} and {@code /returns:nps} requests back to back for the warm-up and measurement windows.
+ * Throughput and latency percentiles are printed for each mode.
+ * Run it with {@code ./gradlew loadTest [-PloadTest.args="concurrency seconds expenses profiles"]}, where
+ * {@code profiles} is a comma-separated order such as {@code virtual,default}. Modes share one JVM, so run each order
+ * (or one mode per run) to keep JIT warm-up from favouring the later mode.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int expenses = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        String[] profiles = args.length > 3 ? args[3].split(",") : new String[]{"default", "virtual"};
+
+        byte[] parseBody = MAPPER.writeValueAsBytes(BenchmarkData.expenses(expenses, BenchmarkData.SEED));
+        byte[] returnBody = MAPPER.writeValueAsBytes(BenchmarkData.returnRequest(expenses, 10, BenchmarkData.SEED));
+
+        System.out.printf("concurrency=%d, duration=%ds, expenses/request=%d%n", concurrency, seconds, expenses);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (String profile : profiles) {
+            Result result = run(profile, concurrency, seconds, parseBody, returnBody);
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", profile, result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0), result.errors());
+        }
+    }
+
+    private static Result run(String profile, int concurrency, int seconds, byte[] parseBody, byte[] returnBody)
+            throws InterruptedException {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(AutoSaveEngineApplication.class)
+                .profiles(profile)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/blackrock/challenge/v1";
+            HttpRequest parse = post(base + "/transactions:parse", parseBody);
+            HttpRequest returns = post(base + "/returns:nps", returnBody);
+
+            // Warm up for a quarter of the measured time, then measure.
+            drive(concurrency, Math.max(1, seconds / 4), parse, returns);
+            return drive(concurrency, seconds, parse, returns);
+        }
+    }
+
+    private static Result drive(int concurrency, int seconds, HttpRequest parse, HttpRequest returns)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                int clientIndex = c;
+                clients.submit(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = (clientIndex + count) % 2 == 0 ? parse : returns;
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count < samples.length - 1) {
+                            samples[++count] = System.nanoTime() - sent;
+                        }
+                    }
+                    samples[0] = count;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        int total = latencies.stream().mapToInt(s -> (int) s[0]).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 1, all, offset, (int) samples[0]);
+            offset += (int) samples[0];
+        }
+        Arrays.sort(all);
+        return new Result(all, total / elapsedSeconds, errors.get());
+    }
+
+    private static HttpRequest post(String uri, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private record Result(long[] sortedNanos, double throughput, long errors) {
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.benchmark;
+
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.engine.TransactionColumns;
+import com.example.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporal validation on the calling thread against chunked validation on the execution pool, for the same batch,
+ * both in columns and through the object pipeline that backs {@code /transactions:filter}. Set {@code poolSize} to the cores of the target machine; with a single core the chunked path only
+ * shows its overhead.
+ * <p>
+ * The batch is filled once, so each run adds the P extras to the remanents again. That changes no verdict and no
+ * amount of work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelValidationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int transactions;
+
+    @Param({"sequential", "chunked"})
+    private String path;
+
+    @Param({"4"})
+    private int poolSize;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private ValidatorRequest request;
+    private TransactionColumns columns;
+
+    @Setup
+    public void setUp() {
+        int threshold = path.equals("chunked") ? 0 : Integer.MAX_VALUE;
+        context = BenchmarkData.services(Map.of(
+                "autosave.execution.validation-threshold", threshold,
+                "autosave.execution.object-validation-threshold", threshold,
+                "autosave.execution.pool-size", poolSize));
+        transactionService = context.getBean(TransactionService.class);
+        request = BenchmarkData.validatorRequest(transactions, 10, BenchmarkData.SEED);
+        // Amounts average 25,000, so the cap binds about halfway through the year
+        request.setWage(BigDecimal.valueOf(12_500L * transactions));
+        columns = new TransactionColumns(transactions);
+        for (TransactionDto transaction : request.getTransactions()) {
+            transactionService.addTo(columns, transaction);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int[] validateColumns() {
+        return transactionService.validateTemporalConstraints(columns, request.getWage(), request.getP(),
+                request.getQ(), request.getK());
+    }
+
+    @Benchmark
+    public ValidatorResponse validateObjects() {
+        return transactionService.validateTemporalConstraints(request);
+    }
+}
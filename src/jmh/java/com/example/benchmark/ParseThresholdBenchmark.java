@@ -0,0 +1,57 @@
+package com.example.benchmark;
+
+import com.example.dto.Expense;
+import com.example.model.Transaction;
+import com.example.service.ParallelExecutionPolicy;
+import com.example.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential versus pooled parsing at small and medium sizes; the crossover on the target hardware is the value
+ * to use for {@code autosave.execution.parallel-threshold}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseThresholdBenchmark {
+
+    @Param({"16", "128", "512", "1024", "4096", "16384"})
+    private int expenses;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private ParallelExecutionPolicy sequential;
+    private ParallelExecutionPolicy parallel;
+    private List<Expense> input;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        transactionService = context.getBean(TransactionService.class);
+        sequential = new ParallelExecutionPolicy(new SimpleMeterRegistry(), Integer.MAX_VALUE, 0);
+        parallel = new ParallelExecutionPolicy(new SimpleMeterRegistry(), 0, 0);
+        input = BenchmarkData.expenses(expenses, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequential.destroy();
+        parallel.destroy();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Transaction> sequential() {
+        return sequential.map(input, transactionService::parseExpense);
+    }
+
+    @Benchmark
+    public List<Transaction> parallel() {
+        return parallel.map(input, transactionService::parseExpense);
+    }
+}
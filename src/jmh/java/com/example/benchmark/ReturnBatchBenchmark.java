@@ -0,0 +1,81 @@
+package com.example.benchmark;
+
+import com.example.domain.ReturnType;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import com.example.service.ReturnBatchService;
+import com.example.service.ReturnService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users per second through {@link ReturnBatchService} against calling {@link ReturnService} once per user and
+ * return type, JSON included on both sides. HTTP overhead, which the batch endpoint also saves, is not measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReturnBatchBenchmark {
+
+    private static final int USERS = 200;
+
+    @Param({"50", "1000"})
+    private int transactionsPerUser;
+
+    private AnnotationConfigApplicationContext context;
+    private ObjectMapper objectMapper;
+    private ReturnService returnService;
+    private ReturnBatchService returnBatchService;
+    private List<byte[]> singleBodies;
+    private byte[] batchBody;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        objectMapper = JsonMapper.builder().build();
+        returnService = context.getBean(ReturnService.class);
+        returnBatchService = new ReturnBatchService(returnService, objectMapper, 0);
+        List<ReturnRequest> requests = new ArrayList<>(USERS);
+        singleBodies = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            ReturnRequest request = BenchmarkData.returnRequest(transactionsPerUser, 10, BenchmarkData.SEED + i);
+            requests.add(request);
+            singleBodies.add(objectMapper.writeValueAsBytes(request));
+        }
+        batchBody = objectMapper.writeValueAsBytes(requests);
+    }
+
+    @TearDown
+    public void tearDown() {
+        returnBatchService.destroy();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void singleRequests(Blackhole blackhole) {
+        for (byte[] body : singleBodies) {
+            for (ReturnType type : ReturnType.values()) {
+                ReturnResponse response = returnService.returns(objectMapper.readValue(body, ReturnRequest.class), type);
+                blackhole.consume(objectMapper.writeValueAsBytes(response));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public int batch() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        returnBatchService.returns(new ByteArrayInputStream(batchBody), out);
+        return out.size();
+    }
+}
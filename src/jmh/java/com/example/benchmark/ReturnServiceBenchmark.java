@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.domain.ReturnType;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import com.example.service.ReturnService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link ReturnService#returns} for each {@link ReturnType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReturnServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+
+    /** Number of P, Q and K periods each. */
+    @Param({"10", "1000"})
+    private int periods;
+
+    @Param({"NPS", "INDEX_FUND"})
+    private ReturnType type;
+
+    private AnnotationConfigApplicationContext context;
+    private ReturnService returnService;
+    private ReturnRequest returnRequest;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        returnService = context.getBean(ReturnService.class);
+        returnRequest = BenchmarkData.returnRequest(transactions, periods, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReturnResponse returns() {
+        return returnService.returns(returnRequest, type);
+    }
+}
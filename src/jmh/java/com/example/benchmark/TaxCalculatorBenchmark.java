@@ -0,0 +1,41 @@
+package com.example.benchmark;
+
+import com.example.service.TaxCalculatorService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single {@link TaxCalculatorService#calculateTax} call, for incomes drawn from every slab.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaxCalculatorBenchmark {
+
+    private static final int INCOMES = 1024;
+
+    private TaxCalculatorService taxCalculatorService;
+    private BigDecimal[] incomes;
+
+    @Setup
+    public void setUp() {
+        taxCalculatorService = new TaxCalculatorService();
+        Random random = new Random(BenchmarkData.SEED);
+        incomes = new BigDecimal[INCOMES];
+        for (int i = 0; i < INCOMES; i++) {
+            incomes[i] = BigDecimal.valueOf(random.nextInt(2_500_000_00), 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INCOMES)
+    public void calculateTax(Blackhole blackhole) {
+        for (BigDecimal income : incomes) {
+            blackhole.consume(taxCalculatorService.calculateTax(income));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmark;
+
+import com.example.dto.Expense;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.model.Transaction;
+import com.example.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse, validate and filter throughput of {@link TransactionService} across request sizes and period counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+
+    /** Number of P, Q and K periods each. */
+    @Param({"10", "1000"})
+    private int periods;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private List<Expense> expenses;
+    private ValidatorRequest validatorRequest;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        transactionService = context.getBean(TransactionService.class);
+        expenses = BenchmarkData.expenses(transactions, BenchmarkData.SEED);
+        validatorRequest = BenchmarkData.validatorRequest(transactions, periods, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Transaction> parseExpenses() {
+        return transactionService.parseExpenses(expenses);
+    }
+
+    @Benchmark
+    public ValidatorResponse validate() {
+        return transactionService.validate(validatorRequest);
+    }
+
+    @Benchmark
+    public ValidatorResponse validateTemporalConstraints() {
+        return transactionService.validateTemporalConstraints(validatorRequest);
+    }
+}
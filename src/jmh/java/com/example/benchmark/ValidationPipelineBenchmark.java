@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.mapper.TransactionMapper;
+import com.example.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fused {@code validateTemporalConstraints} pipeline with the previous multi-pass implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidationPipelineBenchmark {
+
+    @Param({"1000", "100000"})
+    private int transactions;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionService transactionService;
+    private LegacyValidationPipeline legacyPipeline;
+    private ValidatorRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.services();
+        transactionService = context.getBean(TransactionService.class);
+        legacyPipeline = new LegacyValidationPipeline(context.getBean(TransactionMapper.class));
+        request = BenchmarkData.validatorRequest(transactions, 20, BenchmarkData.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ValidatorResponse fused() {
+        return transactionService.validateTemporalConstraints(request);
+    }
+
+    @Benchmark
+    public ValidatorResponse legacy() {
+        return legacyPipeline.validateTemporalConstraints(request);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.config.CborConfig;
+import com.example.domain.ReturnType;
+import com.example.dto.ReturnResponse;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.service.ReturnService;
+import com.example.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the filter and returns payloads as JSON against CBOR with epoch-second dates, the two wire
+ * formats the endpoints negotiate. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int transactions;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private ValidatorResponse filterResponse;
+    private Map<ReturnType, ReturnResponse> returns;
+    private byte[] filterRequest;
+
+    @Setup
+    public void setUp() {
+        mapper = format.equals("cbor")
+                ? CBORMapper.builder().addModule(CborConfig.epochSecondDatesModule()).build()
+                : JsonMapper.builder().build();
+        try (AnnotationConfigApplicationContext context = BenchmarkData.services()) {
+            ValidatorRequest request = BenchmarkData.validatorRequest(transactions, 10, BenchmarkData.SEED);
+            filterResponse = context.getBean(TransactionService.class).validateTemporalConstraints(request);
+            returns = context.getBean(ReturnService.class).returns(BenchmarkData.returnRequest(transactions, 10, BenchmarkData.SEED),
+                    EnumSet.allOf(ReturnType.class));
+            filterRequest = mapper.writeValueAsBytes(request);
+        }
+        System.out.printf("%n%s bytes: filter request %d, filter response %d, returns %d%n", format, filterRequest.length,
+                mapper.writeValueAsBytes(filterResponse).length, mapper.writeValueAsBytes(returns).length);
+    }
+
+    @Benchmark
+    public byte[] writeFilterResponse() {
+        return mapper.writeValueAsBytes(filterResponse);
+    }
+
+    @Benchmark
+    public ValidatorRequest readFilterRequest() {
+        return mapper.readValue(filterRequest, ValidatorRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeReturns() {
+        return mapper.writeValueAsBytes(returns);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example;
+
+import com.example.dto.BulkValidationSummary;
+import com.example.dto.ValidatorRequest;
+import com.example.service.BulkValidationService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for validating an expense file on local disk instead of posting it to the server.
+ * <p>
+ * Starts the application without a web server and passes the file to {@link BulkValidationService}. Arguments are
+ * Spring properties: {@code --bulk.input} (the expense CSV), {@code --bulk.rules} (a {@code /transactions:filter}
+ * request body giving the wage and the P, Q and K periods), {@code --bulk.valid-output} and
+ * {@code --bulk.invalid-output}. The run's counts are printed as JSON.
+ */
+public class BulkValidationApplication {
+
+	public static void main(String[] args) throws IOException {
+		run(args);
+	}
+
+	/**
+	 * Validates the file named by the {@code --bulk.*} arguments in a non-web context and prints the summary.
+	 * @return The summary that was printed.
+	 */
+	static BulkValidationSummary run(String... args) throws IOException {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AutoSaveEngineApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args)) {
+			Environment environment = context.getEnvironment();
+			ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+			ValidatorRequest rules = objectMapper.readValue(Path.of(environment.getRequiredProperty("bulk.rules")).toFile(), ValidatorRequest.class);
+
+			BulkValidationSummary summary = context.getBean(BulkValidationService.class).validateTemporalConstraints(
+					Path.of(environment.getRequiredProperty("bulk.input")), rules,
+					Path.of(environment.getRequiredProperty("bulk.valid-output")),
+					Path.of(environment.getRequiredProperty("bulk.invalid-output")));
+			System.out.println(objectMapper.writeValueAsString(summary));
+			return summary;
+		}
+	}
+
+}
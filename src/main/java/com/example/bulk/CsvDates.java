@@ -0,0 +1,103 @@
+package com.example.bulk;
+
+import com.example.domain.DateFields;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes {@code yyyy-MM-dd HH:mm:ss} dates as epoch seconds (UTC) directly in byte buffers, so bulk files
+ * are converted without a {@code LocalDateTime} or {@code String} per row. The calendar arithmetic is that of
+ * {@code LocalDate.toEpochDay} and {@code LocalDate.ofEpochDay}, restricted to years 0 to 9999; the field checks
+ * are those of {@link DateFields}.
+ */
+final class CsvDates {
+
+    /** Length of {@code yyyy-MM-dd HH:mm:ss}. */
+    static final int LENGTH = 19;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final long DAYS_0000_TO_1970 = 719_528;
+    private static final long DAYS_PER_400_YEARS = 146_097;
+
+    private CsvDates() {
+    }
+
+    /**
+     * @param buffer The buffer holding the date at {@code offset}.
+     * @return The date as an epoch second, or {@link Long#MIN_VALUE} if it is not a valid
+     * {@code yyyy-MM-dd HH:mm:ss} date.
+     */
+    static long parse(ByteBuffer buffer, int offset) {
+        if (buffer.get(offset + 4) != '-' || buffer.get(offset + 7) != '-' || buffer.get(offset + 10) != ' '
+                || buffer.get(offset + 13) != ':' || buffer.get(offset + 16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = DateFields.digits(buffer, offset, 4);
+        int month = DateFields.digits(buffer, offset + 5, 2);
+        int day = DateFields.digits(buffer, offset + 8, 2);
+        int hour = DateFields.digits(buffer, offset + 11, 2);
+        int minute = DateFields.digits(buffer, offset + 14, 2);
+        int second = DateFields.digits(buffer, offset + 17, 2);
+        if (!DateFields.isValid(year, month, day, hour, minute, second)) {
+            return Long.MIN_VALUE;
+        }
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3_600L + minute * 60L + second;
+    }
+
+    /**
+     * Writes the epoch second as {@code yyyy-MM-dd HH:mm:ss} at the buffer's position.
+     * @throws IllegalArgumentException If the year is outside 0 to 9999.
+     */
+    static void put(ByteBuffer buffer, long epochSecond) {
+        long dayOf0000 = Math.floorDiv(epochSecond, SECONDS_PER_DAY) + DAYS_0000_TO_1970;
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        if (dayOf0000 < 0 || dayOf0000 >= 25 * DAYS_PER_400_YEARS) {
+            throw new IllegalArgumentException("Epoch second " + epochSecond + " is outside years 0 to 9999");
+        }
+        // Counted from 1 March 0000 so the leap day is the last day of a year; January and February of year 0
+        // fall in the previous 400-year cycle.
+        long zeroDay = dayOf0000 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            adjust = -400;
+            zeroDay += DAYS_PER_400_YEARS;
+        }
+        long year = (400 * zeroDay + 591) / DAYS_PER_400_YEARS;
+        long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        if (dayOfYear < 0) {
+            year--;
+            dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        }
+        int marchMonth = (int) (dayOfYear * 5 + 2) / 153;
+        int month = (marchMonth + 2) % 12 + 1;
+        int day = (int) dayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        year += marchMonth / 10 + adjust;
+
+        putDigits(buffer, (int) year, 4);
+        buffer.put((byte) '-');
+        putDigits(buffer, month, 2);
+        buffer.put((byte) '-');
+        putDigits(buffer, day, 2);
+        buffer.put((byte) ' ');
+        putDigits(buffer, secondOfDay / 3_600, 2);
+        buffer.put((byte) ':');
+        putDigits(buffer, secondOfDay / 60 % 60, 2);
+        buffer.put((byte) ':');
+        putDigits(buffer, secondOfDay % 60, 2);
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= DateFields.isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static void putDigits(ByteBuffer buffer, int value, int count) {
+        for (int divisor = count == 4 ? 1_000 : 10; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bulk;
+
+import com.example.domain.Money;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an expense CSV through memory-mapped windows of the file, handing each row to a sink as primitives.
+ * <p>
+ * Each line is {@code date,amount}, for example {@code 2023-10-12 20:15:30,250.5}: the date as
+ * {@code yyyy-MM-dd HH:mm:ss} and the amount as a plain decimal with at most two decimal places and
+ * {@link Money#MAX_RUPEE_DIGITS} integer digits, the same amounts {@code Money.toPaise} accepts. A first line that
+ * does not start with a digit is a header. Blank lines and {@code \r\n} endings are accepted.
+ * <p>
+ * Files larger than one window are mapped a window at a time, each starting at the line the previous one cut off,
+ * so only the window is paged in and nothing is allocated per row.
+ */
+public final class ExpenseCsvReader {
+
+    /** Receives each expense of the file in order. */
+    @FunctionalInterface
+    public interface ExpenseSink {
+        /**
+         * @param amountPaise The amount in paise, a whole number at {@code amountScale}.
+         * @param amountScale The number of decimal places written in the file, between zero and two.
+         */
+        void expense(long epochSecond, long amountPaise, int amountScale);
+    }
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L};
+
+    private final int windowBytes;
+
+    /**
+     * @param windowBytes The most bytes mapped at once; the longest line must fit in a window.
+     */
+    public ExpenseCsvReader(long windowBytes) {
+        if (windowBytes < CsvDates.LENGTH + 3) {
+            throw new IllegalArgumentException("Mapping window of " + windowBytes + " bytes cannot hold an expense");
+        }
+        this.windowBytes = (int) Math.min(windowBytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return The number of expenses read.
+     * @throws IllegalArgumentException If a line is malformed; the message gives its line number.
+     */
+    public long read(Path file, ExpenseSink sink) throws IOException {
+        long expenses = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long line = 1;
+            while (position < size) {
+                int length = (int) Math.min(windowBytes, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int start = 0;
+                while (start < length) {
+                    int end = indexOfNewline(window, start, length);
+                    if (end == length && !lastWindow) {
+                        break;
+                    }
+                    int contentEnd = end > start && window.get(end - 1) == '\r' ? end - 1 : end;
+                    boolean header = line == 1 && contentEnd > start && !isDigit(window.get(start));
+                    if (contentEnd > start && !header) {
+                        readExpense(window, start, contentEnd, line, sink);
+                        expenses++;
+                    }
+                    line++;
+                    start = end + 1;
+                }
+                if (start == 0) {
+                    throw new IllegalArgumentException("Line " + line + " is longer than the " + windowBytes
+                            + "-byte mapping window");
+                }
+                position += Math.min(start, length);
+            }
+        }
+        return expenses;
+    }
+
+    private static void readExpense(MappedByteBuffer window, int start, int end, long line, ExpenseSink sink) {
+        if (end - start < CsvDates.LENGTH + 2 || window.get(start + CsvDates.LENGTH) != ',') {
+            throw malformed(line, "expected yyyy-MM-dd HH:mm:ss,amount");
+        }
+        long epochSecond = CsvDates.parse(window, start);
+        if (epochSecond == Long.MIN_VALUE) {
+            throw malformed(line, "the date is not a valid yyyy-MM-dd HH:mm:ss date");
+        }
+
+        int i = start + CsvDates.LENGTH + 1;
+        boolean negative = window.get(i) == '-';
+        if (negative || window.get(i) == '+') {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int integerDigits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte c = window.get(i);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (!isDigit(c)) {
+                throw malformed(line, "the amount is not a plain decimal number");
+            }
+            if (scale >= 0 && ++scale > Money.SCALE) {
+                throw malformed(line, "the amount has more than " + Money.SCALE + " decimal places");
+            }
+            if (scale < 0 && (integerDigits > 0 || c != '0') && ++integerDigits > Money.MAX_RUPEE_DIGITS) {
+                throw malformed(line, "the amount has more than " + Money.MAX_RUPEE_DIGITS + " integer digits");
+            }
+            unscaled = unscaled * 10 + (c - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            throw malformed(line, "the amount has no digits");
+        }
+        scale = Math.max(scale, 0);
+        long paise = unscaled * POWERS_OF_TEN[Money.SCALE - scale];
+        sink.expense(epochSecond, negative ? -paise : paise, scale);
+    }
+
+    private static int indexOfNewline(MappedByteBuffer window, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static IllegalArgumentException malformed(long line, String reason) {
+        return new IllegalArgumentException("Line " + line + " is not a valid expense: " + reason);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bulk;
+
+import com.example.domain.Money;
+import com.example.engine.TransactionColumns;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes validated rows of a {@link TransactionColumns} batch as CSV lines to a channel, formatting dates and
+ * amounts straight into a direct buffer so nothing is allocated per row.
+ * <p>
+ * Amounts are written as {@code BigDecimal.toPlainString} would write them at their scale, and dates as
+ * {@code yyyy-MM-dd HH:mm:ss}. A valid row ends with whether it is in a K period ({@code true}, {@code false}, or
+ * empty if that was never checked); an invalid row ends with the given message, which must not contain commas or
+ * line breaks. Closing the writer flushes it and closes the channel.
+ */
+public final class TransactionCsvWriter implements AutoCloseable {
+
+    /** Room for a date, three amounts, the separators and {@code false}; messages need their own length on top. */
+    private static final int MAX_ROW_BYTES = CsvDates.LENGTH + 3 * 21 + 5 + 6;
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L};
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    /**
+     * @param bufferBytes Bytes gathered before each write to the channel.
+     */
+    public TransactionCsvWriter(WritableByteChannel channel, int bufferBytes) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferBytes, 2 * MAX_ROW_BYTES));
+    }
+
+    /**
+     * Writes a line of column names.
+     */
+    public void header(String columnNames) throws IOException {
+        byte[] line = columnNames.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(line.length + 1);
+        buffer.put(line).put((byte) '\n');
+    }
+
+    /**
+     * Writes {@code date,amount,ceiling,remanent,inKPeriod}.
+     */
+    public void valid(TransactionColumns columns, int row) throws IOException {
+        ensureRoom(MAX_ROW_BYTES);
+        putTransaction(columns, row);
+        Boolean inKPeriod = columns.inKPeriod(row);
+        if (inKPeriod != null) {
+            buffer.put(inKPeriod ? TRUE : FALSE);
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes {@code date,amount,ceiling,remanent,message}.
+     * @param message The message as ASCII or UTF-8 bytes.
+     */
+    public void invalid(TransactionColumns columns, int row, byte[] message) throws IOException {
+        ensureRoom(MAX_ROW_BYTES + message.length);
+        putTransaction(columns, row);
+        buffer.put(message).put((byte) '\n');
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putTransaction(TransactionColumns columns, int row) {
+        CsvDates.put(buffer, columns.epochSecond(row));
+        buffer.put((byte) ',');
+        putAmount(columns.amountPaise(row), columns.amountScale(row));
+        buffer.put((byte) ',');
+        putAmount(columns.ceilingPaise(row), columns.ceilingScale(row));
+        buffer.put((byte) ',');
+        putAmount(columns.remanentPaise(row), columns.remanentScale(row));
+        buffer.put((byte) ',');
+    }
+
+    private void putAmount(long paise, int scale) {
+        long unscaled = paise / POWERS_OF_TEN[Money.SCALE - scale];
+        if (unscaled < 0) {
+            buffer.put((byte) '-');
+        }
+        long magnitude = Math.abs(unscaled);
+        // Digits from least significant, with at least one before the decimal point
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0 || count <= scale);
+        for (int i = count - 1; i >= 0; i--) {
+            if (i == scale - 1) {
+                buffer.put((byte) '.');
+            }
+            buffer.put(digits[i]);
+        }
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+        if (buffer.remaining() < bytes) {
+            throw new IllegalArgumentException("A line of " + bytes + " bytes does not fit the write buffer");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Spring's cache abstraction. The caches themselves (Caffeine, with size, TTL and statistics) are declared
+ * through the {@code spring.cache.*} properties so that Actuator binds their metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,88 @@
+package com.example.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Lets every JSON endpoint also speak CBOR ({@code application/cbor}) for service-to-service calls: requests are
+ * read as CBOR when sent with that {@code Content-Type}, and responses written as CBOR when it is the
+ * {@code Accept}ed type. The NDJSON streaming endpoints stay JSON.
+ * <p>
+ * Amounts are CBOR decimal fractions, an exponent and an integer mantissa, i.e. a scaled long, so they keep the scale
+ * JSON shows. Dates are epoch seconds (UTC) instead of {@code yyyy-MM-dd HH:mm:ss} strings, which are still accepted
+ * on input.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public CborMapperBuilderCustomizer epochSecondDates() {
+        return builder -> builder.addModule(epochSecondDatesModule());
+    }
+
+    /**
+     * @return A module writing and reading dates as epoch seconds, for the CBOR mapper only.
+     */
+    public static SimpleModule epochSecondDatesModule() {
+        return new SimpleModule("EpochSecondDates")
+                .addSerializer(LocalDateTime.class, new EpochSecondSerializer())
+                .addDeserializer(LocalDateTime.class, new EpochSecondDeserializer());
+    }
+
+    /**
+     * Puts the converter in the CBOR slot, after JSON, so that clients not asking for CBOR still get JSON.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborHttpMessageConverter(CBORMapper cborMapper) {
+        return converters -> converters.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+
+    /**
+     * Writes a date as a whole epoch second, dropping any fraction as the JSON pattern does.
+     */
+    static class EpochSecondSerializer extends ValueSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializationContext context) {
+            generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Reads a date from an epoch second, or from a {@code yyyy-MM-dd HH:mm:ss} string.
+     */
+    static class EpochSecondDeserializer extends ValueDeserializer<LocalDateTime> {
+        private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofEpochSecond(parser.getLongValue(), 0, ZoneOffset.UTC);
+            }
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    return LocalDateTime.parse(parser.getString(), FORMAT);
+                } catch (DateTimeParseException e) {
+                    throw context.weirdStringException(parser.getString(), LocalDateTime.class, e.getMessage());
+                }
+            }
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+    }
+}
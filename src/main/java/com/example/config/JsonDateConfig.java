@@ -0,0 +1,111 @@
+package com.example.config;
+
+import com.example.domain.DateTimeCodec;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.ext.javatime.deser.LocalDateTimeDeserializer;
+import tools.jackson.databind.ext.javatime.ser.LocalDateTimeSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads and writes the JSON mapper's {@code @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")} dates with
+ * {@link DateTimeCodec} instead of a {@code DateTimeFormatter}.
+ * <p>
+ * Each date property gets the serializer and deserializer Jackson would otherwise use, contextualised for its
+ * annotation. For properties in that pattern, the codec handles dates it can and hands the rest to them, so output,
+ * leniency and error messages stay the same. Other {@code LocalDateTime} properties are left to Jackson entirely.
+ */
+@Configuration
+public class JsonDateConfig {
+
+    @Bean
+    public JsonMapperBuilderCustomizer fastDates() {
+        return builder -> builder.addModule(fastDatesModule());
+    }
+
+    /**
+     * @return A module reading and writing {@link DateTimeCodec#PATTERN} dates through the codec.
+     */
+    public static SimpleModule fastDatesModule() {
+        return new SimpleModule("FastDates")
+                .addSerializer(LocalDateTime.class, new FastDateSerializer(LocalDateTimeSerializer.INSTANCE))
+                .addDeserializer(LocalDateTime.class, new FastDateDeserializer(LocalDateTimeDeserializer.INSTANCE));
+    }
+
+    private static boolean usesCodecPattern(JsonFormat.Value format) {
+        return format != null && DateTimeCodec.PATTERN.equals(format.getPattern());
+    }
+
+    static class FastDateSerializer extends StdSerializer<LocalDateTime> {
+        /** The generator copies the characters out, so each thread formats every date into the same buffer. */
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[DateTimeCodec.LENGTH]);
+
+        private final ValueSerializer<Object> fallback;
+
+        @SuppressWarnings("unchecked")
+        FastDateSerializer(ValueSerializer<?> fallback) {
+            super(LocalDateTime.class);
+            this.fallback = (ValueSerializer<Object>) fallback;
+        }
+
+        @Override
+        public ValueSerializer<?> createContextual(SerializationContext context, BeanProperty property) {
+            ValueSerializer<?> standard = LocalDateTimeSerializer.INSTANCE.createContextual(context, property);
+            return usesCodecPattern(findFormatOverrides(context, property, handledType()))
+                    ? new FastDateSerializer(standard)
+                    : standard;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializationContext context) {
+            char[] text = BUFFER.get();
+            if (DateTimeCodec.format(value, text, 0)) {
+                generator.writeString(text, 0, text.length);
+            } else {
+                fallback.serialize(value, generator, context);
+            }
+        }
+    }
+
+    static class FastDateDeserializer extends StdDeserializer<LocalDateTime> {
+        private final ValueDeserializer<?> fallback;
+
+        FastDateDeserializer(ValueDeserializer<?> fallback) {
+            super(LocalDateTime.class);
+            this.fallback = fallback;
+        }
+
+        @Override
+        public ValueDeserializer<?> createContextual(DeserializationContext context, BeanProperty property) {
+            ValueDeserializer<?> standard = LocalDateTimeDeserializer.INSTANCE.createContextual(context, property);
+            return usesCodecPattern(findFormatOverrides(context, property, handledType()))
+                    ? new FastDateDeserializer(standard)
+                    : standard;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                LocalDateTime date = DateTimeCodec.parse(parser.getStringCharacters(), parser.getStringOffset(), parser.getStringLength());
+                if (date != null) {
+                    return date;
+                }
+            }
+            return (LocalDateTime) fallback.deserialize(parser, context);
+        }
+    }
+}
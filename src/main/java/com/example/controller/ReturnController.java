@@ -2,14 +2,34 @@ package com.example.controller;
 
 import com.example.domain.ReturnType;
 import com.example.dto.*;
+import com.example.service.CachedReturnService;
+import com.example.service.ReturnBatchService;
+import com.example.service.ReturnRequestFingerprint;
 import com.example.service.ReturnService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 public class ReturnController {
     private static final Logger logger = LoggerFactory.getLogger(ReturnController.class.getName());
@@ -17,14 +37,88 @@ public class ReturnController {
     @Autowired
     private ReturnService returnService;
 
+    @Autowired
+    private ReturnBatchService returnBatchService;
+
+    @Autowired
+    private CachedReturnService cachedReturnService;
+
     @PostMapping("/returns:nps")
-    public ReturnResponse parseNps(@RequestBody ReturnRequest returnRequest) {
-        return returnService.returns(returnRequest, ReturnType.NPS);
+    public ResponseEntity<ReturnResponse> parseNps(@RequestBody ReturnRequest returnRequest, HttpServletRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        return cachedReturns(returnRequest, ReturnType.NPS, request, ifNoneMatch);
     }
 
     @PostMapping("/returns:index")
-    public ReturnResponse parseIndex(@RequestBody ReturnRequest returnRequest) {
-        return returnService.returns(returnRequest, ReturnType.INDEX_FUND);
+    public ResponseEntity<ReturnResponse> parseIndex(@RequestBody ReturnRequest returnRequest, HttpServletRequest request,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        return cachedReturns(returnRequest, ReturnType.INDEX_FUND, request, ifNoneMatch);
+    }
+
+    /**
+     * Serves a returns calculation from the response cache, tagged with a strong ETag made of the request
+     * fingerprint and the negotiated representation. The response depends on nothing but the request and that
+     * representation, so a client that already holds the tag gets {@code 304 Not Modified} without the calculation
+     * or a cache lookup. {@code Vary: Accept} keeps shared caches from handing one representation to a client that
+     * asked for the other.
+     */
+    private ResponseEntity<ReturnResponse> cachedReturns(ReturnRequest returnRequest, ReturnType type,
+                                                         HttpServletRequest request, String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        String fingerprint = ReturnRequestFingerprint.of(returnRequest, type);
+        MediaType representation = representation(request);
+        String eTag = "\"" + fingerprint + "-" + representation.getSubtype() + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).contentType(representation)
+                .body(cachedReturnService.returns(fingerprint, returnRequest, type));
+    }
+
+    /**
+     * Reads the {@code Accept} header as the default header negotiation does, without depending on the MVC
+     * {@code ContentNegotiationManager} bean, which only exists in a web context.
+     * @return CBOR if the client prefers it to JSON, otherwise JSON. The response is written in exactly this type,
+     * so that it always matches the ETag.
+     */
+    private MediaType representation(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(Collections.list(request.getHeaders(HttpHeaders.ACCEPT)));
+            // Ordered by quality, then specificity
+            MimeTypeUtils.sortBySpecificity(acceptedTypes);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException("Could not parse 'Accept' header: " + e.getMessage());
+        }
+        for (MediaType accepted : acceptedTypes) {
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Computes every return type from a single validation pass, keyed by type.
+     */
+    @PostMapping("/returns:all")
+    public Map<ReturnType, ReturnResponse> parseAll(@RequestBody ReturnRequest returnRequest) {
+        return returnService.returns(returnRequest, EnumSet.allOf(ReturnType.class));
+    }
+
+    /**
+     * Computes both return types for a JSON array of requests and streams one {@link ReturnBatchItem} per request
+     * as NDJSON, in request order.
+     */
+    @PostMapping(value = "/returns:batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void batch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        returnBatchService.returns(request.getInputStream(), response.getOutputStream());
     }
 
 }
\ No newline at end of file
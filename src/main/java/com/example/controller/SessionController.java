@@ -0,0 +1,55 @@
+package com.example.controller;
+
+import com.example.dto.Expense;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnSessionResponse;
+import com.example.service.ReturnSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Incremental returns: open a session with a {@link ReturnRequest}, then append expenses to it and read back
+ * results equal to {@code /returns:all} over everything sent so far.
+ */
+@RestController
+public class SessionController {
+
+    @Autowired
+    private ReturnSessionService returnSessionService;
+
+    @PostMapping("/sessions")
+    public ResponseEntity<ReturnSessionResponse> create(@RequestBody ReturnRequest returnRequest) {
+        ReturnSessionResponse session = returnSessionService.create(returnRequest);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(session.getId()).toUri();
+        return ResponseEntity.created(location).body(session);
+    }
+
+    @GetMapping("/sessions/{id}")
+    public ReturnSessionResponse get(@PathVariable String id) {
+        return returnSessionService.get(id).orElseThrow(() -> notFound(id));
+    }
+
+    @PostMapping("/sessions/{id}/transactions")
+    public ReturnSessionResponse append(@PathVariable String id, @RequestBody List<Expense> expenses) {
+        return returnSessionService.append(id, expenses).orElseThrow(() -> notFound(id));
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        if (!returnSessionService.delete(id)) {
+            throw notFound(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No session " + id);
+    }
+}
@@ -4,14 +4,24 @@ import com.example.dto.Expense;
 import com.example.dto.TransactionDto;
 import com.example.dto.ValidatorRequest;
 import com.example.dto.ValidatorResponse;
+import com.example.dto.ValidatorResponseItem;
 import com.example.mapper.TransactionMapper;
 import com.example.model.Transaction;
 import com.example.service.TransactionService;
+import com.example.service.TransactionStreamService;
+import com.example.utility.ColumnarRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -21,6 +31,9 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+
     @Autowired
     private TransactionMapper transactionMapper;
 
@@ -30,14 +43,73 @@ public class TransactionController {
         return transactionMapper.toResponseList(transactions);
     }
 
+    /**
+     * Streaming variant of {@link #parse}, selected with {@code ?stream=true}. Expenses are read from the
+     * request body and written to the response one at a time instead of being held in memory as lists.
+     */
+    @PostMapping(value = "/transactions:parse", params = "stream=true")
+    public void parseStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        transactionStreamService.parseExpenses(request.getInputStream(), response.getOutputStream());
+    }
+
     @PostMapping("/transactions:validator")
     public ValidatorResponse validator(@RequestBody ValidatorRequest validatorRequest) {
         return transactionService.validate(validatorRequest);
     }
 
+    /**
+     * NDJSON variant of {@link #validator}, selected with {@code Accept: application/x-ndjson}.
+     * Each transaction is written as a {@link ValidatorResponseItem} line as soon as its verdict is final.
+     */
+    @PostMapping(value = "/transactions:validator", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validatorStream(@RequestBody ValidatorRequest validatorRequest, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        transactionStreamService.validate(validatorRequest, response.getOutputStream());
+    }
+
     @PostMapping("/transactions:filter")
     public ValidatorResponse temporalValidator(@RequestBody ValidatorRequest validatorRequest) {
         return transactionService.validateTemporalConstraints(validatorRequest);
     }
 
-}
\ No newline at end of file
+    /**
+     * NDJSON variant of {@link #temporalValidator}, selected with {@code Accept: application/x-ndjson}.
+     */
+    @PostMapping(value = "/transactions:filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void temporalValidatorStream(@RequestBody ValidatorRequest validatorRequest, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        transactionStreamService.validateTemporalConstraints(validatorRequest, response.getOutputStream());
+    }
+
+    /**
+     * Columnar variant of {@link #validatorStream}, selected with {@code ?columnar=true}, for very large batches.
+     * Transactions are held off-heap in columns instead of as objects; the NDJSON output is the same.
+     */
+    @PostMapping(value = "/transactions:validator", params = "columnar=true")
+    public void validatorColumnar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        transactionStreamService.validateColumnar(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Columnar variant of {@link #temporalValidatorStream}, selected with {@code ?columnar=true}.
+     */
+    @PostMapping(value = "/transactions:filter", params = "columnar=true")
+    public void temporalValidatorColumnar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        transactionStreamService.validateTemporalConstraintsColumnar(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Answers requests the columnar mode cannot take, such as an amount with three decimal places or a date with a
+     * fraction of a second, with {@code 400 Bad Request} and the reason, which names the transaction. Nothing has
+     * been written by then, because the whole batch is validated before the first line.
+     */
+    @ExceptionHandler(ColumnarRequestException.class)
+    public ResponseEntity<ProblemDetail> badRequest(ColumnarRequestException e) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
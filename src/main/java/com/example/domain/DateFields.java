@@ -0,0 +1,62 @@
+package com.example.domain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Calendar checks and digit reading shared by the hand-written {@code yyyy-MM-dd HH:mm:ss} codecs, for JSON text
+ * ({@link DateTimeCodec}) and for bulk files. The rules are those of the ISO calendar {@code LocalDate} uses.
+ */
+public final class DateFields {
+
+    private DateFields() {
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * @return Whether the fields form a valid date and time, with no fraction of a second, in a year from 0 on.
+     * Negative fields, such as the -1 of {@link #digits} for a non-digit, are invalid.
+     */
+    public static boolean isValid(int year, int month, int day, int hour, int minute, int second) {
+        return year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month)
+                && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59;
+    }
+
+    /**
+     * @return The value of {@code count} digits, or -1 if any character is not an ASCII digit.
+     */
+    public static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            value = appendDigit(value, text[i]);
+        }
+        return value;
+    }
+
+    /**
+     * @return The value of {@code count} ASCII digits, or -1 if any byte is not one.
+     */
+    public static int digits(ByteBuffer buffer, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            value = appendDigit(value, buffer.get(i));
+        }
+        return value;
+    }
+
+    /** Once a non-digit has made the value -1, it stays -1. */
+    private static int appendDigit(int value, int character) {
+        int digit = character - '0';
+        return value < 0 || digit < 0 || digit > 9 ? -1 : value * 10 + digit;
+    }
+}
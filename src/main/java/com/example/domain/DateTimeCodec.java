@@ -0,0 +1,74 @@
+package com.example.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads and writes {@code yyyy-MM-dd HH:mm:ss}, the date layout of every API field, without a
+ * {@code DateTimeFormatter}.
+ * <p>
+ * Only the common case is handled: exactly 19 characters holding a valid date and time in years 1 to 9999. For those
+ * the result is exactly what {@code DateTimeFormatter.ofPattern(PATTERN)} gives. Anything else, such as a day past
+ * the end of its month (which the formatter adjusts) or surrounding whitespace, is reported so the caller can fall
+ * back to the formatter and keep its behaviour, errors included.
+ */
+public final class DateTimeCodec {
+
+    public static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /** Length of a date in {@link #PATTERN}. */
+    public static final int LENGTH = 19;
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * @return The date, or null if the characters are not exactly a valid date in {@link #PATTERN} in years 1 to 9999.
+     */
+    public static LocalDateTime parse(char[] text, int offset, int length) {
+        if (length != LENGTH || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != ' '
+                || text[offset + 13] != ':' || text[offset + 16] != ':') {
+            return null;
+        }
+        int year = DateFields.digits(text, offset, 4);
+        int month = DateFields.digits(text, offset + 5, 2);
+        int day = DateFields.digits(text, offset + 8, 2);
+        int hour = DateFields.digits(text, offset + 11, 2);
+        int minute = DateFields.digits(text, offset + 14, 2);
+        int second = DateFields.digits(text, offset + 17, 2);
+        if (year == 0 || !DateFields.isValid(year, month, day, hour, minute, second)) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Writes the date in {@link #PATTERN}, dropping any fraction of a second as the formatter does.
+     * @param target Room for {@link #LENGTH} characters from {@code offset}.
+     * @return Whether the date was written; dates outside years 1 to 9999 are not.
+     */
+    public static boolean format(LocalDateTime date, char[] target, int offset) {
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            return false;
+        }
+        putDigits(target, offset, year, 4);
+        target[offset + 4] = '-';
+        putDigits(target, offset + 5, date.getMonthValue(), 2);
+        target[offset + 7] = '-';
+        putDigits(target, offset + 8, date.getDayOfMonth(), 2);
+        target[offset + 10] = ' ';
+        putDigits(target, offset + 11, date.getHour(), 2);
+        target[offset + 13] = ':';
+        putDigits(target, offset + 14, date.getMinute(), 2);
+        target[offset + 16] = ':';
+        putDigits(target, offset + 17, date.getSecond(), 2);
+        return true;
+    }
+
+    private static void putDigits(char[] target, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
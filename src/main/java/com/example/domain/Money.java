@@ -0,0 +1,60 @@
+package com.example.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} paise (hundredths of a rupee).
+ * <p>
+ * The validation hot path works on paise so that rounding, comparisons and running totals don't allocate
+ * a {@link BigDecimal} per step. Amounts are converted back to {@link BigDecimal} only when a DTO is built.
+ * Values with more than two decimal places, or too large to sum safely, are reported as
+ * {@link #UNREPRESENTABLE} and callers keep their exact {@link BigDecimal} path for them.
+ */
+public final class Money {
+
+    /** Number of decimal places held in a paise value. */
+    public static final int SCALE = 2;
+
+    /** Sentinel returned for amounts that cannot be held exactly in paise. */
+    public static final long UNREPRESENTABLE = Long.MIN_VALUE;
+
+    /** Largest number of integer (rupee) digits accepted, leaving headroom for sums of many amounts. */
+    public static final int MAX_RUPEE_DIGITS = 15;
+
+    /** One hundred rupees, the rounding step for a transaction ceiling. */
+    private static final long HUNDRED_RUPEES = 100 * 100L;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L};
+
+    private Money() {
+    }
+
+    /**
+     * @param amount The amount to convert; may be null.
+     * @return The amount in paise, or {@link #UNREPRESENTABLE} if it is null, has more than two decimal places
+     * or is too large.
+     */
+    public static long toPaise(BigDecimal amount) {
+        if (amount == null || amount.scale() > SCALE || amount.precision() - amount.scale() > MAX_RUPEE_DIGITS) {
+            return UNREPRESENTABLE;
+        }
+        return amount.movePointRight(SCALE).longValue();
+    }
+
+    /**
+     * @param paise The amount in paise.
+     * @param scale The scale of the result, between 0 and {@link #SCALE}; {@code paise} must be a whole number at that scale.
+     * @return The amount as a {@link BigDecimal} with exactly the requested scale.
+     */
+    public static BigDecimal toBigDecimal(long paise, int scale) {
+        return BigDecimal.valueOf(paise / POWERS_OF_TEN[SCALE - scale], scale);
+    }
+
+    /**
+     * Rounds an amount up to the next multiple of one hundred rupees, matching
+     * {@code amount.divide(100, 0, RoundingMode.CEILING).multiply(100)}.
+     */
+    public static long roundUpToHundred(long paise) {
+        return -Math.floorDiv(-paise, HUNDRED_RUPEES) * HUNDRED_RUPEES;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Row counts of one bulk validation run, by outcome.
+ */
+@Data
+@Builder
+public class BulkValidationSummary {
+    private long expenses;
+    private long valid;
+    private long duplicates;
+    private long negatives;
+    private long overCap;
+    private long elapsedMillis;
+}
@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Request count, rate and latency of one HTTP endpoint, from the {@code http.server.requests} timers.
+ */
+@Data
+@Builder
+public class EndpointMetrics {
+    private long count;
+    /** Requests per second since the previous {@code /performance} call, or since startup for the first one. */
+    private double requestsPerSecond;
+    private double meanMillis;
+    private double p50Millis;
+    /** The highest p99 among the endpoint's response statuses. */
+    private double p99Millis;
+}
@@ -1,12 +1,38 @@
 package com.example.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Map;
+
+/**
+ * System and pipeline metrics. The formatted {@link #time} and {@link #memory} are left out of the compact variant;
+ * every other field is a plain number, and fields whose meter is not available are omitted.
+ */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PerformanceResponse {
     private String time;
     private String memory;
     private int threads;
-}
\ No newline at end of file
+
+    private Long uptimeMillis;
+    private Long heapUsedBytes;
+    private Long nonHeapUsedBytes;
+    private Long directBufferBytes;
+
+    private Long gcPauses;
+    private Double gcPauseMillis;
+    private Double gcMaxPauseMillis;
+    /** Bytes allocated per second since the previous call, or since startup for the first one. */
+    private Double allocatedBytesPerSecond;
+    /** Recent CPU usage of this process, from 0 to 1 across all processors. */
+    private Double processCpuUsage;
+
+    /** Per-stage latency and input size, keyed by stage name in pipeline order. */
+    private Map<String, StageMetrics> stages;
+    /** Per-endpoint request rate and latency, keyed by method and URI pattern. */
+    private Map<String, EndpointMetrics> endpoints;
+}
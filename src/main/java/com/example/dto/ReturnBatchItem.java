@@ -0,0 +1,23 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the {@code /returns:batch} response: the results for the request at {@link #index} in the batch,
+ * or the reason it could not be computed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReturnBatchItem {
+    private Integer index;
+    private ReturnResponse nps;
+    private ReturnResponse indexFund;
+    private String error;
+}
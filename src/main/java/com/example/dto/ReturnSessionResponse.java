@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import com.example.domain.ReturnType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The state of a returns session: its id and the current results for every return type, as {@code /returns:all}
+ * would compute them for all the expenses the session has received.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnSessionResponse {
+    private String id;
+    private Map<ReturnType, ReturnResponse> returns;
+}
@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Latency and input size of one pipeline stage, over the sampled calls of the last few minutes.
+ */
+@Data
+@Builder
+public class StageMetrics {
+    private long count;
+    private double p50Millis;
+    private double p99Millis;
+    private double p50Size;
+    private double p99Size;
+}
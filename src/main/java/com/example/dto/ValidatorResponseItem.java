@@ -0,0 +1,21 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a streamed (NDJSON) validator response. Exactly one of the two fields is set, named after
+ * the {@link ValidatorResponse} list the transaction would have been added to.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ValidatorResponseItem {
+    private ValidTransactionDto valid;
+    private InvalidTransactionDto invalid;
+}
@@ -0,0 +1,171 @@
+package com.example.engine;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Stable sort by date that costs one comparison per item when the input is already in order.
+ * <p>
+ * A first pass checks whether the dates are already non-decreasing, and if so the list is left alone. Otherwise
+ * each item gets a single {@code long} key: its epoch second relative to the earliest one, times the item count,
+ * plus its position. The keys are sorted as primitives and the items reordered to match. Because the position is
+ * part of the key, equal dates keep their input order, exactly as with a stable comparison sort. Dates with a
+ * fraction of a second, null dates and spans too wide to pack fall back to a stable sort with a comparator.
+ * <p>
+ * The {@code parallel} variants sort with {@link Arrays#parallelSort}, whose tasks run in the fork-join pool of the
+ * calling thread when it is a pool worker. The order is the same, since every key is distinct.
+ */
+public final class ChronologicalOrder {
+
+    private ChronologicalOrder() {
+    }
+
+    /**
+     * Sorts the items by date in place, keeping the input order of equal dates.
+     * @param items A mutable list.
+     * @param dateOf Extracts an item's date.
+     * @return {@code false} if the items were already in order and were not touched.
+     */
+    public static <T> boolean sort(List<T> items, Function<? super T, LocalDateTime> dateOf) {
+        return sort(items, dateOf, false);
+    }
+
+    /**
+     * As {@link #sort(List, Function)}, sorting in parallel if asked to.
+     */
+    public static <T> boolean sort(List<T> items, Function<? super T, LocalDateTime> dateOf, boolean parallel) {
+        if (isSorted(items, dateOf)) {
+            return false;
+        }
+        int size = items.size();
+        long[] keys = new long[size];
+        long earliest = Long.MAX_VALUE;
+        long latest = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            LocalDateTime date = dateOf.apply(items.get(i));
+            if (date == null || date.getNano() != 0) {
+                return sortByComparator(items, dateOf, parallel);
+            }
+            long second = date.toEpochSecond(ZoneOffset.UTC);
+            keys[i] = second;
+            earliest = Math.min(earliest, second);
+            latest = Math.max(latest, second);
+        }
+        if (latest - earliest >= Long.MAX_VALUE / size) {
+            return sortByComparator(items, dateOf, parallel);
+        }
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = (keys[i] - earliest) * size + i;
+        }
+        sortKeys(keys, parallel);
+
+        Object[] original = items.toArray();
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) original[(int) (keys[i] % size)];
+            items.set(i, item);
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the first {@code count} row numbers by their rows' epoch seconds in place, keeping the input order of
+     * equal seconds, in the same way as {@link #sort(List, Function)}.
+     * @return {@code false} if the rows were already in order and were not touched.
+     */
+    public static boolean sort(int[] rows, int count, IntToLongFunction epochSecondOf) {
+        return sort(rows, count, epochSecondOf, false);
+    }
+
+    /**
+     * As {@link #sort(int[], int, IntToLongFunction)}, sorting in parallel if asked to.
+     */
+    public static boolean sort(int[] rows, int count, IntToLongFunction epochSecondOf, boolean parallel) {
+        long[] keys = new long[count];
+        long earliest = Long.MAX_VALUE;
+        long latest = Long.MIN_VALUE;
+        boolean sorted = true;
+        for (int i = 0; i < count; i++) {
+            long second = epochSecondOf.applyAsLong(rows[i]);
+            sorted &= i == 0 || second >= keys[i - 1];
+            keys[i] = second;
+            earliest = Math.min(earliest, second);
+            latest = Math.max(latest, second);
+        }
+        if (sorted) {
+            return false;
+        }
+        if (latest - earliest >= Long.MAX_VALUE / count) {
+            Integer[] boxed = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                boxed[i] = rows[i];
+            }
+            Comparator<Integer> bySecond = Comparator.comparingLong(epochSecondOf::applyAsLong);
+            if (parallel) {
+                Arrays.parallelSort(boxed, bySecond);
+            } else {
+                Arrays.sort(boxed, bySecond);
+            }
+            for (int i = 0; i < count; i++) {
+                rows[i] = boxed[i];
+            }
+            return true;
+        }
+
+        for (int i = 0; i < count; i++) {
+            keys[i] = (keys[i] - earliest) * count + i;
+        }
+        sortKeys(keys, parallel);
+
+        int[] original = Arrays.copyOf(rows, count);
+        for (int i = 0; i < count; i++) {
+            rows[i] = original[(int) (keys[i] % count)];
+        }
+        return true;
+    }
+
+    private static <T> boolean isSorted(List<T> items, Function<? super T, LocalDateTime> dateOf) {
+        LocalDateTime previous = null;
+        for (T item : items) {
+            LocalDateTime date = dateOf.apply(item);
+            if (date == null) {
+                return items.size() < 2;
+            }
+            if (previous != null && date.isBefore(previous)) {
+                return false;
+            }
+            previous = date;
+        }
+        return true;
+    }
+
+    private static void sortKeys(long[] keys, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+    }
+
+    private static <T> boolean sortByComparator(List<T> items, Function<? super T, LocalDateTime> dateOf, boolean parallel) {
+        Comparator<T> byDate = Comparator.comparing(dateOf);
+        if (!parallel) {
+            items.sort(byDate);
+            return true;
+        }
+        // Stable, like List.sort
+        @SuppressWarnings("unchecked")
+        T[] sorted = (T[]) items.toArray();
+        Arrays.parallelSort(sorted, byDate);
+        for (int i = 0; i < sorted.length; i++) {
+            items.set(i, sorted[i]);
+        }
+        return true;
+    }
+}
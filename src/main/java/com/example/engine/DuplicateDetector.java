@@ -0,0 +1,143 @@
+package com.example.engine;
+
+import com.example.domain.Money;
+import com.example.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Detects repeated (amount, date) pairs without allocating per transaction.
+ * <p>
+ * Two transactions are duplicates when their amounts are {@link BigDecimal#equals equal} (same value and scale)
+ * and their dates are equal. For the usual transaction, the key is held as three primitives: the epoch second,
+ * the amount in paise, and the nanosecond packed with the amount's scale. Keys are stored in parallel arrays
+ * and found through an open-addressing table of entry numbers with linear probing. Amounts that have no paise
+ * form, and null dates, go to a small {@link HashSet} instead. The two kinds of key can never be equal, so
+ * splitting them does not change which transactions are duplicates.
+ */
+public final class DuplicateDetector {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] seconds;
+    private long[] paise;
+    /** Nanosecond in the high half, amount scale in the low half. */
+    private long[] nanoAndScale;
+    private int size;
+
+    /** Entry number plus one for each slot; zero marks an empty slot. Kept at most half full. */
+    private int[] table;
+
+    private Set<FallbackKey> fallback;
+
+    private record FallbackKey(BigDecimal amount, LocalDateTime date) {}
+
+    /**
+     * @param expectedSize The number of transactions about to be added; the table grows past it if needed.
+     */
+    public DuplicateDetector(int expectedSize) {
+        int entries = Math.max(MIN_CAPACITY, expectedSize);
+        seconds = new long[entries];
+        paise = new long[entries];
+        nanoAndScale = new long[entries];
+        table = new int[tableSizeFor(entries)];
+    }
+
+    /**
+     * Records a transaction's (amount, date) key.
+     * @return {@code true} if the key is new, {@code false} if an earlier transaction had the same key.
+     */
+    public boolean add(Transaction transaction) {
+        long amountPaise = transaction.getAmountPaise();
+        LocalDateTime date = transaction.getDate();
+        if (amountPaise == Money.UNREPRESENTABLE || date == null) {
+            if (fallback == null) {
+                fallback = new HashSet<>();
+            }
+            return fallback.add(new FallbackKey(transaction.getAmount(), date));
+        }
+        return add(StepFunction.epochSecond(date), amountPaise,
+                ((long) date.getNano() << 32) | (transaction.getAmount().scale() & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Records the key of a transaction with a whole-second date and an amount that has a paise form, as held by
+     * {@link TransactionColumns}. Keys added this way and through {@link #add(Transaction)} are interchangeable.
+     * @return {@code true} if the key is new, {@code false} if an earlier transaction had the same key.
+     */
+    public boolean add(long epochSecond, long amountPaise, int amountScale) {
+        return add(epochSecond, amountPaise, amountScale & 0xFFFFFFFFL);
+    }
+
+    private boolean add(long second, long amountPaise, long meta) {
+        int mask = table.length - 1;
+        int slot = hash(second, amountPaise, meta) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            int i = entry - 1;
+            if (seconds[i] == second && paise[i] == amountPaise && nanoAndScale[i] == meta) {
+                return false;
+            }
+        }
+
+        if (size == seconds.length) {
+            int grown = seconds.length * 2;
+            seconds = Arrays.copyOf(seconds, grown);
+            paise = Arrays.copyOf(paise, grown);
+            nanoAndScale = Arrays.copyOf(nanoAndScale, grown);
+        }
+        seconds[size] = second;
+        paise[size] = amountPaise;
+        nanoAndScale[size] = meta;
+        table[slot] = ++size;
+
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] rehashed = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(seconds[i], paise[i], nanoAndScale[i]) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = i + 1;
+        }
+        table = rehashed;
+    }
+
+    private static int hash(long second, long amountPaise, long meta) {
+        long h = second * 0x9E3779B97F4A7C15L + amountPaise * 0xC2B2AE3D27D4EB4FL + meta;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 29));
+    }
+
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(Math.max(MIN_CAPACITY, entries) * 2 - 1) * 2;
+    }
+
+    /**
+     * @return The number of distinct keys seen so far.
+     */
+    public int size() {
+        return size + (fallback != null ? fallback.size() : 0);
+    }
+
+    /**
+     * @return The approximate bytes held by the primitive arrays, plus an estimate for any fallback keys.
+     */
+    public long footprintBytes() {
+        long arrays = 3L * Long.BYTES * seconds.length + (long) Integer.BYTES * table.length;
+        // HashSet entry, node and key record, without the amount and date the transaction already holds
+        long fallbackBytes = fallback != null ? 80L * fallback.size() : 0;
+        return arrays + fallbackBytes;
+    }
+}
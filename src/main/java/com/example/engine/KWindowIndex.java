@@ -0,0 +1,85 @@
+package com.example.engine;
+
+import com.example.dto.KConstraint;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers which K periods contain a date, for callers that update per-period sums one transaction at a time.
+ * <p>
+ * The periods are swept once into a {@link StepFunction} whose slots hold the indices of the active periods, so a
+ * lookup is a single binary search. The same array is shared by every date in a slot.
+ * <p>
+ * Each breakpoint that changes the active set stores a copy of it, so building takes time and memory proportional
+ * to the sum, over the at most {@code 2K} breakpoints, of the periods active there. That is linear when periods rarely
+ * overlap, but reaches {@code O(K^2)} when most of them are nested or overlap one another; 1,000 nested periods
+ * fill the slots with about a million ints.
+ */
+public final class KWindowIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final StepFunction<int[]> windows;
+
+    private KWindowIndex(StepFunction<int[]> windows) {
+        this.windows = windows;
+    }
+
+    /**
+     * Compiles the given periods. A null list is treated as empty.
+     */
+    public static KWindowIndex build(List<KConstraint> kPeriods) {
+        List<KConstraint> k = kPeriods != null ? kPeriods : Collections.emptyList();
+        return new KWindowIndex(StepFunction.sweep(k, KConstraint::getStart, KConstraint::getEnd, new ActiveIndices<>()));
+    }
+
+    /**
+     * @return The indices, in request order, of the K periods whose closed range contains the date. Must not be modified.
+     */
+    public int[] containing(LocalDateTime date) {
+        return windows.valueAt(date);
+    }
+
+    /**
+     * Lists the indices of the active intervals in ascending order. They are kept sorted in one array, so a
+     * snapshot is a single copy, and a snapshot taken with nothing changed since the last one returns that array.
+     */
+    private static final class ActiveIndices<I> implements StepFunction.Accumulator<I, int[]> {
+        private int[] active = new int[8];
+        private int size;
+        private int[] last = NONE;
+        private boolean changed;
+
+        @Override
+        public void add(int index, I interval) {
+            int position = -Arrays.binarySearch(active, 0, size, index) - 1;
+            if (size == active.length) {
+                active = Arrays.copyOf(active, 2 * size);
+            }
+            System.arraycopy(active, position, active, position + 1, size - position);
+            active[position] = index;
+            size++;
+            changed = true;
+        }
+
+        @Override
+        public void remove(int index, I interval) {
+            int position = Arrays.binarySearch(active, 0, size, index);
+            System.arraycopy(active, position + 1, active, position, size - position - 1);
+            size--;
+            changed = true;
+        }
+
+        @Override
+        public int[] snapshot() {
+            if (changed) {
+                last = size == 0 ? NONE : Arrays.copyOf(active, size);
+                changed = false;
+            }
+            return last;
+        }
+    }
+}
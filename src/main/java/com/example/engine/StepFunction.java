@@ -0,0 +1,157 @@
+package com.example.engine;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A piecewise-constant function of time, built by sweeping a set of closed {@code [start, end]} intervals.
+ * <p>
+ * Every distinct interval boundary becomes a breakpoint. For each breakpoint the function stores one value
+ * for the breakpoint itself and one for the open gap up to the next breakpoint, so a lookup is a single
+ * binary search regardless of how many intervals overlap.
+ * @param <T> The value type produced for each slot.
+ */
+final class StepFunction<T> {
+
+    /**
+     * Maintains the aggregate of the intervals currently active during the sweep.
+     * @param <I> The interval type.
+     * @param <T> The aggregate value type.
+     */
+    interface Accumulator<I, T> {
+        void add(int index, I interval);
+
+        void remove(int index, I interval);
+
+        T snapshot();
+    }
+
+    private final long[] seconds;
+    private final int[] nanos;
+    private final Object[] atPoint;
+    private final Object[] afterPoint;
+    private final T empty;
+
+    private StepFunction(long[] seconds, int[] nanos, Object[] atPoint, Object[] afterPoint, T empty) {
+        this.seconds = seconds;
+        this.nanos = nanos;
+        this.atPoint = atPoint;
+        this.afterPoint = afterPoint;
+        this.empty = empty;
+    }
+
+    /**
+     * Builds the step function for the given intervals. Intervals whose start is after their end can never
+     * contain a date and are ignored.
+     * @param intervals The intervals, in request order. The position in this list is passed to the accumulator.
+     * @param start Extracts the inclusive start of an interval.
+     * @param end Extracts the inclusive end of an interval.
+     * @param accumulator Aggregates the active intervals; its snapshot with nothing active is used outside all intervals.
+     * @return The compiled step function.
+     */
+    static <I, T> StepFunction<T> sweep(List<I> intervals, Function<I, LocalDateTime> start,
+                                        Function<I, LocalDateTime> end, Accumulator<I, T> accumulator) {
+        T empty = accumulator.snapshot();
+        int n = intervals.size();
+        long[][] bounds = new long[n][];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            LocalDateTime s = start.apply(intervals.get(i));
+            LocalDateTime e = end.apply(intervals.get(i));
+            if (s.isAfter(e)) {
+                continue;
+            }
+            bounds[count++] = new long[]{epochSecond(s), s.getNano(), epochSecond(e), e.getNano(), i};
+        }
+        if (count == 0) {
+            return new StepFunction<>(new long[0], new int[0], new Object[0], new Object[0], empty);
+        }
+
+        long[][] byStart = Arrays.copyOf(bounds, count);
+        long[][] byEnd = byStart.clone();
+        Arrays.sort(byStart, Comparator.<long[]>comparingLong(b -> b[0]).thenComparingLong(b -> b[1]));
+        Arrays.sort(byEnd, Comparator.<long[]>comparingLong(b -> b[2]).thenComparingLong(b -> b[3]));
+
+        long[] seconds = new long[2 * count];
+        int[] nanos = new int[2 * count];
+        Object[] atPoint = new Object[2 * count];
+        Object[] afterPoint = new Object[2 * count];
+
+        int points = 0;
+        int nextStart = 0;
+        int nextEnd = 0;
+        while (nextEnd < count) {
+            // The next breakpoint is the earliest pending start or end; ends never precede their own start.
+            long second;
+            int nano;
+            if (nextStart < count && compare(byStart[nextStart][0], (int) byStart[nextStart][1],
+                    byEnd[nextEnd][2], (int) byEnd[nextEnd][3]) <= 0) {
+                second = byStart[nextStart][0];
+                nano = (int) byStart[nextStart][1];
+            } else {
+                second = byEnd[nextEnd][2];
+                nano = (int) byEnd[nextEnd][3];
+            }
+
+            while (nextStart < count && byStart[nextStart][0] == second && byStart[nextStart][1] == nano) {
+                int index = (int) byStart[nextStart++][4];
+                accumulator.add(index, intervals.get(index));
+            }
+            seconds[points] = second;
+            nanos[points] = nano;
+            atPoint[points] = accumulator.snapshot();
+
+            while (nextEnd < count && byEnd[nextEnd][2] == second && byEnd[nextEnd][3] == nano) {
+                int index = (int) byEnd[nextEnd++][4];
+                accumulator.remove(index, intervals.get(index));
+            }
+            afterPoint[points] = accumulator.snapshot();
+            points++;
+        }
+
+        return new StepFunction<>(Arrays.copyOf(seconds, points), Arrays.copyOf(nanos, points),
+                Arrays.copyOf(atPoint, points), Arrays.copyOf(afterPoint, points), empty);
+    }
+
+    boolean isEmpty() {
+        return seconds.length == 0;
+    }
+
+    T valueAt(LocalDateTime date) {
+        if (isEmpty()) {
+            return empty;
+        }
+        return valueAt(epochSecond(date), date.getNano());
+    }
+
+    @SuppressWarnings("unchecked")
+    T valueAt(long second, int nano) {
+        int low = 0;
+        int high = seconds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(seconds[mid], nanos[mid], second, nano);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return (T) atPoint[mid];
+            }
+        }
+        return low == 0 ? empty : (T) afterPoint[low - 1];
+    }
+
+    static long epochSecond(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int compare(long secondA, int nanoA, long secondB, int nanoB) {
+        int cmp = Long.compare(secondA, secondB);
+        return cmp != 0 ? cmp : Integer.compare(nanoA, nanoB);
+    }
+}
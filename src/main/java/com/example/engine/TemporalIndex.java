@@ -0,0 +1,170 @@
+package com.example.engine;
+
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pre-compiled lookup structure for the P, Q and K period rules of a single request.
+ * <p>
+ * Each rule family is swept once into a {@link StepFunction}, so resolving a transaction costs
+ * O(log(P + Q + K)) instead of a scan over every period. The results match the linear scan exactly:
+ * <ul>
+ *     <li>Q: among the periods containing the date, the one with the latest start wins; on equal starts
+ *     the one listed first in the request wins.</li>
+ *     <li>P: the sum of the extras of every period containing the date, with the same scale a
+ *     left-to-right {@link BigDecimal#add} would produce.</li>
+ *     <li>K: whether any period contains the date.</li>
+ * </ul>
+ */
+public final class TemporalIndex {
+
+    private final StepFunction<QConstraint> qOverrides;
+    private final StepFunction<BigDecimal> pExtras;
+    private final StepFunction<Boolean> kMembership;
+
+    private TemporalIndex(StepFunction<QConstraint> qOverrides, StepFunction<BigDecimal> pExtras,
+                          StepFunction<Boolean> kMembership) {
+        this.qOverrides = qOverrides;
+        this.pExtras = pExtras;
+        this.kMembership = kMembership;
+    }
+
+    /**
+     * Compiles the given periods. Null lists are treated as empty.
+     */
+    public static TemporalIndex build(List<PConstraint> pPeriods, List<QConstraint> qPeriods, List<KConstraint> kPeriods) {
+        List<PConstraint> p = pPeriods != null ? pPeriods : Collections.emptyList();
+        List<QConstraint> q = qPeriods != null ? qPeriods : Collections.emptyList();
+        List<KConstraint> k = kPeriods != null ? kPeriods : Collections.emptyList();
+        return new TemporalIndex(
+                StepFunction.sweep(q, QConstraint::getStart, QConstraint::getEnd, new LatestStartQ(q)),
+                StepFunction.sweep(p, PConstraint::getStart, PConstraint::getEnd, new ExtraSum()),
+                StepFunction.sweep(k, KConstraint::getStart, KConstraint::getEnd, new AnyActive<>()));
+    }
+
+    /**
+     * @return The Q period whose fixed amount overrides the remanent at this date, or {@code null} if none applies.
+     */
+    public QConstraint overrideFor(LocalDateTime date) {
+        return qOverrides.valueAt(date);
+    }
+
+    /**
+     * @return The total P extra to add to the remanent at this date; {@link BigDecimal#ZERO} if none applies.
+     */
+    public BigDecimal extraFor(LocalDateTime date) {
+        return pExtras.valueAt(date);
+    }
+
+    /**
+     * @return Whether the date falls within at least one K period.
+     */
+    public boolean inKPeriod(LocalDateTime date) {
+        return kMembership.valueAt(date);
+    }
+
+    /**
+     * As {@link #overrideFor(LocalDateTime)} for a whole-second date given as its UTC epoch second.
+     */
+    public QConstraint overrideFor(long epochSecond) {
+        return qOverrides.valueAt(epochSecond, 0);
+    }
+
+    /**
+     * As {@link #extraFor(LocalDateTime)} for a whole-second date given as its UTC epoch second.
+     */
+    public BigDecimal extraFor(long epochSecond) {
+        return pExtras.valueAt(epochSecond, 0);
+    }
+
+    /**
+     * As {@link #inKPeriod(LocalDateTime)} for a whole-second date given as its UTC epoch second.
+     */
+    public boolean inKPeriod(long epochSecond) {
+        return kMembership.valueAt(epochSecond, 0);
+    }
+
+    /** Tracks the active Q periods ordered by latest start, then by request order. */
+    private static final class LatestStartQ implements StepFunction.Accumulator<QConstraint, QConstraint> {
+        private final List<QConstraint> periods;
+        private final TreeSet<Integer> active;
+
+        LatestStartQ(List<QConstraint> periods) {
+            Comparator<Integer> latestStart = Comparator.comparing((Integer i) -> periods.get(i).getStart()).reversed();
+            this.periods = periods;
+            this.active = new TreeSet<>(latestStart.thenComparing(Comparator.naturalOrder()));
+        }
+
+        @Override
+        public void add(int index, QConstraint interval) {
+            active.add(index);
+        }
+
+        @Override
+        public void remove(int index, QConstraint interval) {
+            active.remove(index);
+        }
+
+        @Override
+        public QConstraint snapshot() {
+            return active.isEmpty() ? null : periods.get(active.first());
+        }
+    }
+
+    /** Keeps a running sum of the active P extras and the largest scale among them. */
+    private static final class ExtraSum implements StepFunction.Accumulator<PConstraint, BigDecimal> {
+        private final TreeMap<Integer, Integer> scales = new TreeMap<>();
+        private BigDecimal sum = BigDecimal.ZERO;
+
+        @Override
+        public void add(int index, PConstraint interval) {
+            sum = sum.add(interval.getExtra());
+            scales.merge(interval.getExtra().scale(), 1, Integer::sum);
+        }
+
+        @Override
+        public void remove(int index, PConstraint interval) {
+            sum = sum.subtract(interval.getExtra());
+            scales.computeIfPresent(interval.getExtra().scale(), (scale, count) -> count == 1 ? null : count - 1);
+        }
+
+        @Override
+        public BigDecimal snapshot() {
+            if (scales.isEmpty()) {
+                return BigDecimal.ZERO;
+            }
+            // Summing from ZERO yields the largest scale among the addends (never below zero).
+            return sum.setScale(Math.max(0, scales.lastKey()), RoundingMode.UNNECESSARY);
+        }
+    }
+
+    /** Reports whether any interval is active. */
+    private static final class AnyActive<I> implements StepFunction.Accumulator<I, Boolean> {
+        private int active;
+
+        @Override
+        public void add(int index, I interval) {
+            active++;
+        }
+
+        @Override
+        public void remove(int index, I interval) {
+            active--;
+        }
+
+        @Override
+        public Boolean snapshot() {
+            return active > 0;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.engine;
+
+import com.example.domain.Money;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A batch of transactions stored column by column in direct (off-heap) buffers, for validating very large
+ * batches without a {@code Transaction} object per row.
+ * <p>
+ * Each row takes 36 bytes: the date as an epoch second, and the amount, ceiling and remanent in paise, as
+ * {@code long}s; the scale of each amount as a byte; and a status byte. Keeping the scales means values are turned
+ * back into exactly the {@link BigDecimal}s the object path would produce. Only rows that fit can be added: dates
+ * must be whole seconds, and amounts must have between zero and two decimal places and pass
+ * {@link Money#toPaise}. Use {@link #fits} or {@link #paiseOf} to check a value.
+ * <p>
+ * The status byte holds the verdict in its low bits and, once known, whether the row's date is in a K period.
+ * Buffers grow by doubling. The batch is not thread-safe, except that distinct rows may be read and updated from
+ * different threads once it is filled.
+ */
+public final class TransactionColumns {
+
+    /** Not yet validated. */
+    public static final byte PENDING = 0;
+    public static final byte VALID = 1;
+    public static final byte DUPLICATE = 2;
+    public static final byte NEGATIVE = 3;
+    public static final byte OVER_CAP = 4;
+
+    private static final int VERDICT_MASK = 0x0F;
+    private static final int K_PERIOD_KNOWN = 0x10;
+    private static final int IN_K_PERIOD = 0x20;
+
+    /** The most rows one batch holds: a long column is a single buffer, indexed by an int. */
+    public static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+
+    private static final int MIN_CAPACITY = 16;
+    /** Four long columns and four byte columns. */
+    private static final int BYTES_PER_ROW = 4 * Long.BYTES + 4;
+
+    private ByteBuffer seconds;
+    private ByteBuffer amounts;
+    private ByteBuffer ceilings;
+    private ByteBuffer remanents;
+    private ByteBuffer amountScales;
+    private ByteBuffer ceilingScales;
+    private ByteBuffer remanentScales;
+    private ByteBuffer statuses;
+    private int capacity;
+    private int size;
+
+    /**
+     * @param expectedRows The number of rows about to be added; the buffers grow past it if needed, up to
+     * {@link #MAX_ROWS}.
+     */
+    public TransactionColumns(int expectedRows) {
+        allocate(Math.min(MAX_ROWS, Math.max(MIN_CAPACITY, expectedRows)));
+    }
+
+    /**
+     * @return Whether the value is non-null, has between zero and two decimal places and fits in paise.
+     */
+    public static boolean fits(BigDecimal value) {
+        return paiseOf(value) != Money.UNREPRESENTABLE;
+    }
+
+    /**
+     * @return The value in paise, or {@link Money#UNREPRESENTABLE} if it does not {@link #fits(BigDecimal) fit}.
+     */
+    public static long paiseOf(BigDecimal value) {
+        if (value == null || value.scale() < 0 || value.scale() > Money.SCALE) {
+            return Money.UNREPRESENTABLE;
+        }
+        return Money.toPaise(value);
+    }
+
+    /**
+     * @return Whether the date is non-null and a whole second.
+     */
+    public static boolean fits(LocalDateTime date) {
+        return date != null && date.getNano() == 0;
+    }
+
+    /**
+     * Appends a pending row. The scales are between zero and two, and each amount is a whole number at its scale.
+     * @return The new row's number.
+     * @throws IllegalStateException If the batch already holds {@link #MAX_ROWS} rows.
+     */
+    public int add(long epochSecond, long amountPaise, int amountScale, long ceilingPaise, int ceilingScale,
+                   long remanentPaise, int remanentScale) {
+        if (size == capacity) {
+            grow();
+        }
+        int row = size++;
+        seconds.putLong(row * Long.BYTES, epochSecond);
+        amounts.putLong(row * Long.BYTES, amountPaise);
+        ceilings.putLong(row * Long.BYTES, ceilingPaise);
+        remanents.putLong(row * Long.BYTES, remanentPaise);
+        amountScales.put(row, (byte) amountScale);
+        ceilingScales.put(row, (byte) ceilingScale);
+        remanentScales.put(row, (byte) remanentScale);
+        statuses.put(row, PENDING);
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long epochSecond(int row) {
+        return seconds.getLong(row * Long.BYTES);
+    }
+
+    public long amountPaise(int row) {
+        return amounts.getLong(row * Long.BYTES);
+    }
+
+    public int amountScale(int row) {
+        return amountScales.get(row);
+    }
+
+    public long ceilingPaise(int row) {
+        return ceilings.getLong(row * Long.BYTES);
+    }
+
+    public int ceilingScale(int row) {
+        return ceilingScales.get(row);
+    }
+
+    public long remanentPaise(int row) {
+        return remanents.getLong(row * Long.BYTES);
+    }
+
+    public int remanentScale(int row) {
+        return remanentScales.get(row);
+    }
+
+    public void setRemanent(int row, long remanentPaise, int remanentScale) {
+        remanents.putLong(row * Long.BYTES, remanentPaise);
+        remanentScales.put(row, (byte) remanentScale);
+    }
+
+    /**
+     * @return One of {@link #PENDING}, {@link #VALID}, {@link #DUPLICATE}, {@link #NEGATIVE} or {@link #OVER_CAP}.
+     */
+    public byte verdict(int row) {
+        return (byte) (statuses.get(row) & VERDICT_MASK);
+    }
+
+    public void setVerdict(int row, byte verdict) {
+        statuses.put(row, (byte) ((statuses.get(row) & ~VERDICT_MASK) | verdict));
+    }
+
+    /**
+     * @return Whether the row's date is in a K period, or {@code null} if that was never checked.
+     */
+    public Boolean inKPeriod(int row) {
+        int status = statuses.get(row);
+        return (status & K_PERIOD_KNOWN) == 0 ? null : (status & IN_K_PERIOD) != 0;
+    }
+
+    public void setInKPeriod(int row, boolean inKPeriod) {
+        int status = statuses.get(row) | K_PERIOD_KNOWN;
+        statuses.put(row, (byte) (inKPeriod ? status | IN_K_PERIOD : status & ~IN_K_PERIOD));
+    }
+
+    public LocalDateTime date(int row) {
+        return LocalDateTime.ofEpochSecond(epochSecond(row), 0, ZoneOffset.UTC);
+    }
+
+    public BigDecimal amount(int row) {
+        return Money.toBigDecimal(amountPaise(row), amountScale(row));
+    }
+
+    public BigDecimal ceiling(int row) {
+        return Money.toBigDecimal(ceilingPaise(row), ceilingScale(row));
+    }
+
+    public BigDecimal remanent(int row) {
+        return Money.toBigDecimal(remanentPaise(row), remanentScale(row));
+    }
+
+    /**
+     * @return The off-heap bytes held by the buffers.
+     */
+    public long footprintBytes() {
+        return (long) BYTES_PER_ROW * capacity;
+    }
+
+    private void allocate(int rows) {
+        seconds = copyOf(seconds, rows * Long.BYTES);
+        amounts = copyOf(amounts, rows * Long.BYTES);
+        ceilings = copyOf(ceilings, rows * Long.BYTES);
+        remanents = copyOf(remanents, rows * Long.BYTES);
+        amountScales = copyOf(amountScales, rows);
+        ceilingScales = copyOf(ceilingScales, rows);
+        remanentScales = copyOf(remanentScales, rows);
+        statuses = copyOf(statuses, rows);
+        capacity = rows;
+    }
+
+    private void grow() {
+        if (capacity == MAX_ROWS) {
+            throw new IllegalStateException("Too many rows for one batch: at most " + MAX_ROWS);
+        }
+        allocate((int) Math.min(MAX_ROWS, 2L * capacity));
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer column, int bytes) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (column != null) {
+            grown.put(column.duplicate().clear());
+            grown.clear();
+        }
+        return grown;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.model;
 
+import com.example.domain.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -8,9 +10,7 @@ import java.time.LocalDateTime;
 
 
 @Getter @Setter
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class Transaction {
     @Setter(AccessLevel.NONE) // prevent setting via builder
     private Long id;
@@ -20,4 +20,23 @@ public class Transaction {
     private LocalDateTime date;
     private BigDecimal ceiling;
     private BigDecimal remanent;
+
+    /** The amount in paise for the validation hot path, kept in step with {@link #amount}. */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private long amountPaise = Money.UNREPRESENTABLE;
+
+    @Builder
+    public Transaction(Long id, BigDecimal amount, LocalDateTime date, BigDecimal ceiling, BigDecimal remanent) {
+        this.id = id;
+        this.date = date;
+        this.ceiling = ceiling;
+        this.remanent = remanent;
+        setAmount(amount);
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+        this.amountPaise = Money.toPaise(amount);
+    }
 }
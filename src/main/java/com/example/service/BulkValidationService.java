@@ -0,0 +1,114 @@
+package com.example.service;
+
+import com.example.bulk.ExpenseCsvReader;
+import com.example.bulk.TransactionCsvWriter;
+import com.example.dto.BulkValidationSummary;
+import com.example.dto.ValidatorRequest;
+import com.example.engine.TransactionColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parses and validates expense files too large to send as JSON, as {@code /transactions:parse} followed by
+ * {@code /transactions:filter} would.
+ * <p>
+ * The file is read through memory-mapped windows of {@code autosave.bulk.map-window} into a
+ * {@link TransactionColumns} batch and validated in columns, so no object is created per row. Duplicates and the
+ * investment cap depend on every row before them, so the whole batch is validated at once after reading; only its
+ * off-heap columns and a few {@code int}s per row are held. Results are written through file channels.
+ */
+@Service
+public class BulkValidationService {
+
+    public static final String VALID_HEADER = "date,amount,ceiling,remanent,inKPeriod";
+    public static final String INVALID_HEADER = "date,amount,ceiling,remanent,message";
+
+    /** Rows to reserve before reading, as a guess of how many lines a file of a given size has. */
+    private static final int TYPICAL_EXPENSE_LINE_BYTES = 28;
+
+    private final TransactionService transactionService;
+    private final PipelineMetrics pipelineMetrics;
+    private final long mapWindowBytes;
+    private final int writeBufferBytes;
+
+    @Autowired
+    public BulkValidationService(TransactionService transactionService, PipelineMetrics pipelineMetrics,
+                                 @Value("${autosave.bulk.map-window:256MB}") DataSize mapWindow,
+                                 @Value("${autosave.bulk.write-buffer:1MB}") DataSize writeBuffer) {
+        this.transactionService = transactionService;
+        this.pipelineMetrics = pipelineMetrics;
+        this.mapWindowBytes = mapWindow.toBytes();
+        this.writeBufferBytes = (int) Math.min(writeBuffer.toBytes(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates every expense of a CSV file against the wage and the P, Q and K periods of {@code rules}.
+     * <p>
+     * Valid transactions are written to {@code validOutput} in date order, and invalid ones to
+     * {@code invalidOutput}: duplicates and negatives in file order, then those over the cap in date order. Both
+     * outputs are replaced, and start with {@link #VALID_HEADER} and {@link #INVALID_HEADER}.
+     * @param expenses A CSV file in the format of {@link ExpenseCsvReader}.
+     * @param rules The wage and periods; its transactions, if any, are ignored.
+     * @throws IllegalArgumentException If a line of the file is malformed, or a P extra or Q fixed amount has more
+     * than two decimal places.
+     * @throws IllegalStateException If the file holds more than {@link TransactionColumns#MAX_ROWS} expenses.
+     */
+    public BulkValidationSummary validateTemporalConstraints(Path expenses, ValidatorRequest rules,
+                                                             Path validOutput, Path invalidOutput) throws IOException {
+        long started = System.nanoTime();
+        long fileBytes = Files.size(expenses);
+        // Only a first guess; the row limit is enforced as the rows are added
+        TransactionColumns columns = new TransactionColumns((int) Math.min(TransactionColumns.MAX_ROWS,
+                fileBytes / TYPICAL_EXPENSE_LINE_BYTES));
+
+        long start = pipelineMetrics.start();
+        new ExpenseCsvReader(mapWindowBytes).read(expenses,
+                (epochSecond, amountPaise, amountScale) -> transactionService.addExpenseTo(columns, epochSecond, amountPaise, amountScale));
+        pipelineMetrics.record(PipelineMetrics.Stage.PARSE, start, columns.size());
+
+        int[] settled = transactionService.validateTemporalConstraints(columns, rules.getWage(),
+                rules.getP(), rules.getQ(), rules.getK());
+
+        long[] counts = new long[TransactionColumns.OVER_CAP + 1];
+        byte[][] messages = new byte[TransactionColumns.OVER_CAP + 1][];
+        for (byte verdict : new byte[]{TransactionColumns.DUPLICATE, TransactionColumns.NEGATIVE, TransactionColumns.OVER_CAP}) {
+            messages[verdict] = TransactionService.rejectionMessage(verdict).getBytes(StandardCharsets.UTF_8);
+        }
+        try (TransactionCsvWriter valid = new TransactionCsvWriter(create(validOutput), writeBufferBytes);
+             TransactionCsvWriter invalid = new TransactionCsvWriter(create(invalidOutput), writeBufferBytes)) {
+            valid.header(VALID_HEADER);
+            invalid.header(INVALID_HEADER);
+            for (int row : settled) {
+                byte verdict = columns.verdict(row);
+                counts[verdict]++;
+                if (verdict == TransactionColumns.VALID) {
+                    valid.valid(columns, row);
+                } else {
+                    invalid.invalid(columns, row, messages[verdict]);
+                }
+            }
+        }
+
+        return BulkValidationSummary.builder()
+                .expenses(columns.size())
+                .valid(counts[TransactionColumns.VALID])
+                .duplicates(counts[TransactionColumns.DUPLICATE])
+                .negatives(counts[TransactionColumns.NEGATIVE])
+                .overCap(counts[TransactionColumns.OVER_CAP])
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    private static FileChannel create(Path output) throws IOException {
+        return FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
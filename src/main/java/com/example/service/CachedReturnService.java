@@ -0,0 +1,29 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches {@link ReturnService#returns} results by {@link ReturnRequestFingerprint}. Returns are a pure function of
+ * the request, so a cached response is always the one a fresh computation would produce.
+ */
+@Service
+public class CachedReturnService {
+
+    public static final String CACHE_NAME = "returns";
+
+    @Autowired
+    private ReturnService returnService;
+
+    /**
+     * @param fingerprint {@link ReturnRequestFingerprint#of} for this request and type; the cache key.
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "#fingerprint")
+    public ReturnResponse returns(String fingerprint, ReturnRequest returnRequest, ReturnType type) {
+        return returnService.returns(returnRequest, type);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.service;
+
+import com.example.dto.EndpointMetrics;
+import com.example.dto.PerformanceResponse;
+import com.example.dto.StageMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads system, pipeline and HTTP metrics from the actuator {@link MeterRegistry} for {@code /performance}.
+ * <p>
+ * Rates (allocation and requests per second) are measured between successive calls, so they describe the interval
+ * since the previous caller looked; the first call measures from startup. Allocation is counted by
+ * {@code jvm.gc.memory.allocated}, which only advances at garbage collections.
+ */
+@Service
+public class PerformanceService {
+
+    private static final double MEGABYTE_DIVISOR = 1024.0 * 1024.0;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.of("UTC"));
+    private static final String HTTP_REQUESTS = "http.server.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    // Totals seen by the previous call, for the per-second rates.
+    private long previousNanos;
+    private double previousAllocatedBytes;
+    private Map<String, Long> previousRequestCounts;
+
+    @Autowired
+    public PerformanceService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param formatted Whether to include the human-readable {@code time} and {@code memory} strings.
+     */
+    public synchronized PerformanceResponse metrics(boolean formatted) {
+        long now = System.nanoTime();
+        Long uptimeMillis = uptimeMillis();
+        double elapsedSeconds = previousRequestCounts != null
+                ? (now - previousNanos) / 1e9
+                : uptimeMillis != null ? uptimeMillis / 1000.0 : 0;
+        Long heapUsedBytes = sumOfGauges(meterRegistry.find("jvm.memory.used").tag("area", "heap").gauges());
+
+        PerformanceResponse.PerformanceResponseBuilder response = PerformanceResponse.builder()
+                .threads(getLiveThreadCount())
+                .uptimeMillis(uptimeMillis)
+                .heapUsedBytes(heapUsedBytes)
+                .nonHeapUsedBytes(sumOfGauges(meterRegistry.find("jvm.memory.used").tag("area", "nonheap").gauges()))
+                .directBufferBytes(sumOfGauges(meterRegistry.find("jvm.buffer.memory.used").tag("id", "direct").gauges()))
+                .processCpuUsage(gaugeValue(meterRegistry.find("process.cpu.usage").gauge()))
+                .allocatedBytesPerSecond(allocationRate(elapsedSeconds))
+                .stages(getStageMetrics())
+                .endpoints(getEndpointMetrics(elapsedSeconds));
+        addGcPauses(response);
+        if (formatted) {
+            response.time(uptimeMillis != null ? FORMATTER.format(Instant.ofEpochMilli(uptimeMillis)) : "N/A")
+                    .memory(heapUsedBytes != null ? String.format("%.2f MB", heapUsedBytes / MEGABYTE_DIVISOR) : "N/A");
+        }
+        previousNanos = now;
+        return response.build();
+    }
+
+    /**
+     * Retrieves the application uptime from the Actuator MeterRegistry.
+     * @return Uptime in milliseconds, or null if the meter is not registered.
+     */
+    private Long uptimeMillis() {
+        // "process.uptime" directly gives the duration in seconds, which is more direct
+        // and less error-prone than calculating from "process.start.time".
+        TimeGauge uptimeGauge = meterRegistry.find("process.uptime").timeGauge();
+        return uptimeGauge != null ? (long) uptimeGauge.value(TimeUnit.MILLISECONDS) : null;
+    }
+
+    /**
+     * Retrieves the live thread count from the Actuator MeterRegistry.
+     * @return The current number of live threads.
+     */
+    private int getLiveThreadCount() {
+        var gauge = meterRegistry.find("jvm.threads.live").gauge();
+        return gauge != null ? (int) gauge.value() : 0;
+    }
+
+    /**
+     * Totals every collector's pauses; the maximum is over the registry's recent window. The timers are registered
+     * at the first pause, so before that all three are zero.
+     */
+    private void addGcPauses(PerformanceResponse.PerformanceResponseBuilder response) {
+        long count = 0;
+        double totalMillis = 0;
+        double maxMillis = 0;
+        for (Timer pause : meterRegistry.find("jvm.gc.pause").timers()) {
+            count += pause.count();
+            totalMillis += pause.totalTime(TimeUnit.MILLISECONDS);
+            maxMillis = Math.max(maxMillis, pause.max(TimeUnit.MILLISECONDS));
+        }
+        response.gcPauses(count).gcPauseMillis(totalMillis).gcMaxPauseMillis(maxMillis);
+    }
+
+    private Double allocationRate(double elapsedSeconds) {
+        Counter allocated = meterRegistry.find("jvm.gc.memory.allocated").counter();
+        if (allocated == null) {
+            return null;
+        }
+        double total = allocated.count();
+        double rate = elapsedSeconds > 0 ? (total - previousAllocatedBytes) / elapsedSeconds : 0;
+        previousAllocatedBytes = total;
+        return rate;
+    }
+
+    /**
+     * Reads the p50 and p99 duration and input size of every pipeline stage from the MeterRegistry.
+     * @return One entry per stage that has been registered, in pipeline order.
+     */
+    private Map<String, StageMetrics> getStageMetrics() {
+        Map<String, StageMetrics> stages = new LinkedHashMap<>();
+        for (PipelineMetrics.Stage stage : PipelineMetrics.Stage.values()) {
+            Timer duration = meterRegistry.find(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, stage.getTag()).timer();
+            DistributionSummary size = meterRegistry.find(PipelineMetrics.STAGE_SIZE).tag(PipelineMetrics.STAGE_TAG, stage.getTag()).summary();
+            if (duration == null || size == null) {
+                continue;
+            }
+            HistogramSnapshot durations = duration.takeSnapshot();
+            HistogramSnapshot sizes = size.takeSnapshot();
+            stages.put(stage.getTag(), StageMetrics.builder()
+                    .count(durations.count())
+                    .p50Millis(percentile(durations, 0.5, TimeUnit.MILLISECONDS))
+                    .p99Millis(percentile(durations, 0.99, TimeUnit.MILLISECONDS))
+                    .p50Size(percentile(sizes, 0.5, null))
+                    .p99Size(percentile(sizes, 0.99, null))
+                    .build());
+        }
+        return stages;
+    }
+
+    /**
+     * Groups the {@code http.server.requests} timers by method and URI pattern. Their response statuses are
+     * separate timers: counts and totals are added up, p50 is taken from the busiest status and p99 is the highest.
+     */
+    private Map<String, EndpointMetrics> getEndpointMetrics(double elapsedSeconds) {
+        Map<String, long[]> counts = new TreeMap<>();
+        Map<String, double[]> latencies = new HashMap<>();
+        for (Timer timer : meterRegistry.find(HTTP_REQUESTS).timers()) {
+            String endpoint = timer.getId().getTag("method") + " " + timer.getId().getTag("uri");
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            long[] count = counts.computeIfAbsent(endpoint, key -> new long[2]);
+            // {total time, p50 of the busiest status, p99}
+            double[] latency = latencies.computeIfAbsent(endpoint, key -> new double[3]);
+            if (snapshot.count() > count[1]) {
+                count[1] = snapshot.count();
+                latency[1] = percentile(snapshot, 0.5, TimeUnit.MILLISECONDS);
+            }
+            count[0] += snapshot.count();
+            latency[0] += snapshot.total(TimeUnit.MILLISECONDS);
+            latency[2] = Math.max(latency[2], percentile(snapshot, 0.99, TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, EndpointMetrics> endpoints = new LinkedHashMap<>();
+        Map<String, Long> requestCounts = new HashMap<>();
+        counts.forEach((endpoint, count) -> {
+            double[] latency = latencies.get(endpoint);
+            long previous = previousRequestCounts != null ? previousRequestCounts.getOrDefault(endpoint, 0L) : 0L;
+            requestCounts.put(endpoint, count[0]);
+            endpoints.put(endpoint, EndpointMetrics.builder()
+                    .count(count[0])
+                    .requestsPerSecond(elapsedSeconds > 0 ? (count[0] - previous) / elapsedSeconds : 0)
+                    .meanMillis(count[0] > 0 ? latency[0] / count[0] : 0)
+                    .p50Millis(latency[1])
+                    .p99Millis(latency[2])
+                    .build());
+        });
+        previousRequestCounts = requestCounts;
+        return endpoints;
+    }
+
+    /**
+     * @param unit The unit of a timer's value, or {@code null} for a distribution summary.
+     * @return The published value at the given percentile, or 0 if it is not published.
+     */
+    private static double percentile(HistogramSnapshot snapshot, double percentile, TimeUnit unit) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return unit != null ? value.value(unit) : value.value();
+            }
+        }
+        return 0;
+    }
+
+    private static Long sumOfGauges(Collection<Gauge> gauges) {
+        if (gauges.isEmpty()) {
+            return null;
+        }
+        double total = 0;
+        for (Gauge gauge : gauges) {
+            total += gauge.value();
+        }
+        return (long) total;
+    }
+
+    private static Double gaugeValue(Gauge gauge) {
+        if (gauge == null || !Double.isFinite(gauge.value()) || gauge.value() < 0) {
+            return null;
+        }
+        return gauge.value();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage meters for the validation and returns pipeline.
+ * <p>
+ * Every stage has a timer, {@code autosave.stage.duration}, and a distribution summary of how many items it was given,
+ * {@code autosave.stage.size}, both tagged with {@code stage} and publishing p50 and p99. Only one call in
+ * {@code autosave.metrics.sample-every} is timed, so an unsampled call costs a single random draw. Rejections are
+ * counted on every call in {@code autosave.validation.invalid}, tagged with {@code reason}. The memory held by the
+ * duplicate table of each sampled screening pass is recorded in {@code autosave.dedup.footprint}, in bytes.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String STAGE_DURATION = "autosave.stage.duration";
+    public static final String STAGE_SIZE = "autosave.stage.size";
+    public static final String INVALID = "autosave.validation.invalid";
+    public static final String DEDUP_FOOTPRINT = "autosave.dedup.footprint";
+    public static final String STAGE_TAG = "stage";
+
+    /** Returned by {@link #start()} when the call is not sampled. */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    public enum Stage {
+        /** Expense to transaction conversion: ceiling and remanent. */
+        PARSE("parse"),
+        /** The fused pass over the input: duplicates, negatives and the P, Q and K rules. */
+        SCREEN("screen"),
+        /** Date ordering and the investment cap. */
+        CAP("cap"),
+        /** Principal, growth and tax benefit of every K period; its size is the number of K periods. */
+        RETURNS("returns");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    public enum Reason {
+        DUPLICATE("duplicate"),
+        NEGATIVE("negative"),
+        CAP("cap");
+
+        private final String tag;
+
+        Reason(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final int sampleEvery;
+    private final Timer[] durations = new Timer[Stage.values().length];
+    private final DistributionSummary[] sizes = new DistributionSummary[Stage.values().length];
+    private final Counter[] invalid = new Counter[Reason.values().length];
+    private final DistributionSummary dedupFootprint;
+
+    /**
+     * @param sampleEvery Time one call in this many; one or less times every call.
+     */
+    @Autowired
+    public PipelineMetrics(MeterRegistry meterRegistry, @Value("${autosave.metrics.sample-every:10}") int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+        for (Stage stage : Stage.values()) {
+            durations[stage.ordinal()] = Timer.builder(STAGE_DURATION)
+                    .tag(STAGE_TAG, stage.tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            sizes[stage.ordinal()] = DistributionSummary.builder(STAGE_SIZE)
+                    .tag(STAGE_TAG, stage.tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+        }
+        for (Reason reason : Reason.values()) {
+            invalid[reason.ordinal()] = meterRegistry.counter(INVALID, "reason", reason.tag);
+        }
+        dedupFootprint = DistributionSummary.builder(DEDUP_FOOTPRINT)
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The start time to pass to {@link #record}, or {@link #NOT_SAMPLED} if this call is not timed.
+     */
+    public long start() {
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a stage that began at {@code start}, and the number of items it handled. Does nothing for an
+     * unsampled call.
+     */
+    public void record(Stage stage, long start, int size) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        durations[stage.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        sizes[stage.ordinal()].record(size);
+    }
+
+    /**
+     * Records the bytes held by the duplicate table of a screening pass that began at {@code start}. Does nothing
+     * for an unsampled call.
+     */
+    public void dedupFootprint(long start, long bytes) {
+        if (start != NOT_SAMPLED) {
+            dedupFootprint.record(bytes);
+        }
+    }
+
+    /**
+     * Counts {@code count} rejected transactions; zero is ignored.
+     */
+    public void invalid(Reason reason, int count) {
+        if (count > 0) {
+            invalid[reason.ordinal()].increment(count);
+        }
+    }
+}
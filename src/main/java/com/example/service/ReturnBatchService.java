@@ -0,0 +1,110 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.ReturnBatchItem;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes NPS and index-fund returns for many users in one call.
+ * <p>
+ * Requests are read one at a time from a JSON array and computed on a fixed pool of
+ * {@code autosave.batch.concurrency} threads. At most twice that many are read ahead, so memory stays bounded
+ * however large the batch is. Results are written as NDJSON lines in request order, each as soon as it and all
+ * earlier results are ready.
+ */
+@Service
+public class ReturnBatchService implements DisposableBean {
+
+    private final ReturnService returnService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final int window;
+
+    @Autowired
+    public ReturnBatchService(ReturnService returnService, ObjectMapper objectMapper,
+                              @Value("${autosave.batch.concurrency:0}") int concurrency) {
+        this.returnService = returnService;
+        this.objectMapper = objectMapper;
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.window = 2 * threads;
+    }
+
+    /**
+     * @param requests A JSON array of {@link ReturnRequest}.
+     * @param results Receives one {@link ReturnBatchItem} per request, one JSON object per line.
+     */
+    public void returns(InputStream requests, OutputStream results) {
+        try (MappingIterator<ReturnRequest> reader = objectMapper.readerFor(ReturnRequest.class).readValues(requests);
+             JsonGenerator generator = objectMapper.writer().withRootValueSeparator("").createGenerator(results)) {
+            Queue<Future<ReturnBatchItem>> pending = new ArrayDeque<>(window);
+            int index = 0;
+            while (reader.hasNextValue()) {
+                ReturnRequest request = reader.nextValue();
+                int position = index++;
+                pending.add(executor.submit(() -> compute(position, request)));
+                if (pending.size() >= window) {
+                    write(generator, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(generator, pending.poll());
+            }
+        }
+    }
+
+    /**
+     * Computes both return types for one request. A request that fails is reported on its own line
+     * instead of aborting the rest of the batch.
+     */
+    ReturnBatchItem compute(int index, ReturnRequest request) {
+        try {
+            Map<ReturnType, ReturnResponse> responses = returnService.returns(request, EnumSet.of(ReturnType.NPS, ReturnType.INDEX_FUND));
+            return ReturnBatchItem.builder()
+                    .index(index)
+                    .nps(responses.get(ReturnType.NPS))
+                    .indexFund(responses.get(ReturnType.INDEX_FUND))
+                    .build();
+        } catch (RuntimeException e) {
+            // Exceptions such as a bare NullPointerException have no message, and the line still needs an error
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return ReturnBatchItem.builder().index(index).error(error).build();
+        }
+    }
+
+    private void write(JsonGenerator generator, Future<ReturnBatchItem> result) {
+        try {
+            generator.writePOJO(result.get());
+            generator.writeRaw('\n');
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a batch result", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch result failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
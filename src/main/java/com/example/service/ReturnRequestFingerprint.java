@@ -0,0 +1,142 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.ReturnRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 fingerprint of everything a {@link ReturnService#returns} result depends on.
+ * <p>
+ * The encoding is canonical: every field is written in a fixed order with explicit null markers and length
+ * prefixes, so two requests have the same fingerprint exactly when they would produce the same response, however
+ * their JSON was formatted. Amounts keep their scale ({@code 250} and {@code 250.0} differ) and list order is kept,
+ * since both can change the response.
+ */
+public final class ReturnRequestFingerprint {
+
+    private static final byte NULL = 0;
+    private static final byte PRESENT = 1;
+
+    private final MessageDigest digest;
+
+    private ReturnRequestFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return The fingerprint of the request for the given type, as 64 lowercase hex digits.
+     */
+    public static String of(ReturnRequest request, ReturnType type) {
+        ReturnRequestFingerprint fingerprint = new ReturnRequestFingerprint();
+        fingerprint.putString(type.name());
+        fingerprint.putInt(request.getAge());
+        fingerprint.putDecimal(request.getInflation());
+        fingerprint.putDecimal(request.getWage());
+
+        List<PConstraint> p = request.getP();
+        if (fingerprint.putListSize(p)) {
+            for (PConstraint period : p) {
+                fingerprint.putDate(period.getStart());
+                fingerprint.putDate(period.getEnd());
+                fingerprint.putDecimal(period.getExtra());
+            }
+        }
+        List<QConstraint> q = request.getQ();
+        if (fingerprint.putListSize(q)) {
+            for (QConstraint period : q) {
+                fingerprint.putDate(period.getStart());
+                fingerprint.putDate(period.getEnd());
+                fingerprint.putDecimal(period.getFixed());
+            }
+        }
+        List<KConstraint> k = request.getK();
+        if (fingerprint.putListSize(k)) {
+            for (KConstraint period : k) {
+                fingerprint.putDate(period.getStart());
+                fingerprint.putDate(period.getEnd());
+            }
+        }
+        List<Expense> transactions = request.getTransactions();
+        if (fingerprint.putListSize(transactions)) {
+            for (Expense expense : transactions) {
+                fingerprint.putDecimal(expense.getAmount());
+                fingerprint.putDate(expense.getDate());
+            }
+        }
+        return HexFormat.of().formatHex(fingerprint.digest.digest());
+    }
+
+    /**
+     * @return Whether the list is present, so the caller should write its elements.
+     */
+    private boolean putListSize(List<?> list) {
+        if (list == null) {
+            digest.update(NULL);
+            return false;
+        }
+        digest.update(PRESENT);
+        putRawInt(list.size());
+        return true;
+    }
+
+    private void putInt(Integer value) {
+        if (value == null) {
+            digest.update(NULL);
+            return;
+        }
+        digest.update(PRESENT);
+        putRawInt(value);
+    }
+
+    private void putDecimal(BigDecimal value) {
+        if (value == null) {
+            digest.update(NULL);
+            return;
+        }
+        digest.update(PRESENT);
+        putRawInt(value.scale());
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        putRawInt(unscaled.length);
+        digest.update(unscaled);
+    }
+
+    private void putDate(LocalDateTime value) {
+        if (value == null) {
+            digest.update(NULL);
+            return;
+        }
+        digest.update(PRESENT);
+        putRawInt(value.getYear());
+        putRawInt(value.getDayOfYear());
+        putRawInt(value.toLocalTime().toSecondOfDay());
+        putRawInt(value.getNano());
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putRawInt(bytes.length);
+        digest.update(bytes);
+    }
+
+    private void putRawInt(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+}
@@ -2,18 +2,23 @@ package com.example.service;
 
 import com.example.domain.ReturnType;
 import com.example.dto.*;
-import com.example.mapper.TransactionMapper;
+import com.example.engine.PrefixSumIndex;
 import com.example.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
@@ -24,29 +29,47 @@ public class ReturnService {
     private static final int RETIREMENT_AGE = 60;
     private static final int MIN_INVESTMENT_PERIOD = 5;
     private static final BigDecimal NPS_DEDUCTION_CAP = new BigDecimal("200000");
+    // Distinct (rate, inflation, years) combinations to remember; each request uses at most one per return type.
+    private static final int GROWTH_CACHE_SIZE = 1_024;
+
+    private final Cache<GrowthKey, GrowthFactors> growthFactors = Caffeine.newBuilder().maximumSize(GROWTH_CACHE_SIZE).build();
 
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
-    private TransactionMapper transactionMapper;
+    private TaxCalculatorService taxCalculatorService;
 
     @Autowired
-    private TaxCalculatorService taxCalculatorService;
+    private PipelineMetrics pipelineMetrics;
 
     public ReturnResponse returns(ReturnRequest returnRequest, ReturnType type) {
+        return returns(returnRequest, EnumSet.of(type)).get(type);
+    }
+
+    /**
+     * Computes the returns for several investment types at once. Validation, totals and the principal of each
+     * K-period are worked out once and shared; only the growth and tax-benefit math runs per type.
+     * @param returnRequest The request containing expenses, constraints, age and inflation.
+     * @param types The investment types to compute.
+     * @return One response per requested type, identical to calling {@link #returns(ReturnRequest, ReturnType)} for each.
+     */
+    public Map<ReturnType, ReturnResponse> returns(ReturnRequest returnRequest, Set<ReturnType> types) {
         // 1. Validate all transactions and apply temporal rules to get the final list of valid transactions.
-        List<ValidTransactionDto> validTransactions = getValidTransactions(returnRequest);
+        List<Transaction> validTransactions = getValidTransactions(returnRequest);
 
         // 2. Calculate overall totals for the response header.
-        BigDecimal totalAmount = calculateTotal(validTransactions, ValidTransactionDto::getAmount);
-        BigDecimal totalCeiling = calculateTotal(validTransactions, ValidTransactionDto::getCeiling);
+        BigDecimal totalAmount = calculateTotal(validTransactions, Transaction::getAmount);
+        BigDecimal totalCeiling = calculateTotal(validTransactions, Transaction::getCeiling);
 
         // 3. Calculate savings and returns for each k-period.
-        List<Savings> savingsByDates = calculateSavingsForEachKPeriod(returnRequest, validTransactions, type);
+        Map<ReturnType, List<Savings>> savingsByType = calculateSavingsForEachKPeriod(returnRequest, validTransactions, types);
 
         // 4. Build the final, structured response.
-        return buildReturnResponse(totalAmount, totalCeiling, savingsByDates);
+        Map<ReturnType, ReturnResponse> responses = new EnumMap<>(ReturnType.class);
+        savingsByType.forEach((type, savingsByDates) ->
+                responses.put(type, buildReturnResponse(totalAmount, totalCeiling, savingsByDates)));
+        return responses;
     }
 
     /**
@@ -54,30 +77,21 @@ public class ReturnService {
      * @param returnRequest The original request containing expenses and constraints.
      * @return A list of transactions that are valid after all rules have been applied.
      */
-    private List<ValidTransactionDto> getValidTransactions(ReturnRequest returnRequest) {
-        // First, parse the expenses to calculate the initial remanent and ceiling for each transaction.
+    private List<Transaction> getValidTransactions(ReturnRequest returnRequest) {
+        // Parse the expenses to calculate the initial remanent and ceiling for each transaction, then validate the
+        // parsed entities directly rather than round-tripping them through DTOs.
         List<Transaction> parsedTransactions = transactionService.parseExpenses(returnRequest.getTransactions());
-        // Then, map the fully-formed Transaction entities to DTOs for the validation request.
-        List<TransactionDto> transactionDtos = transactionMapper.toDtoList(parsedTransactions);
-
-        ValidatorRequest validatorRequest = ValidatorRequest.builder()
-                .wage(returnRequest.getWage())
-                .transactions(transactionDtos)
-                .p(returnRequest.getP())
-                .q(returnRequest.getQ())
-                .k(returnRequest.getK())
-                .build();
-        ValidatorResponse validationResult = transactionService.validateTemporalConstraints(validatorRequest);
-        return validationResult.getValid();
+        return transactionService.validTransactions(parsedTransactions, returnRequest.getWage(),
+                returnRequest.getP(), returnRequest.getQ(), returnRequest.getK());
     }
 
     /**
-     * A generic helper to sum a BigDecimal property from a list of DTOs.
+     * A generic helper to sum a BigDecimal property from a list of transactions.
      * @param transactions The list of transactions.
      * @param mapper A function to extract the BigDecimal to be summed.
      * @return The total sum.
      */
-    private BigDecimal calculateTotal(List<ValidTransactionDto> transactions, Function<ValidTransactionDto, BigDecimal> mapper) {
+    private BigDecimal calculateTotal(List<Transaction> transactions, Function<Transaction, BigDecimal> mapper) {
         return transactions.stream()
                 .map(mapper)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -87,13 +101,40 @@ public class ReturnService {
      * Iterates through each K-period, calculating the principal, profits, and tax benefits for each.
      * @param returnRequest The original request containing age and inflation data.
      * @param validTransactions The list of valid transactions to be considered.
-     * @param type The type of investment (NPS or Index Fund).
-     * @return A list of Savings objects, one for each K-period.
+     * @param types The types of investment (NPS and/or Index Fund).
+     * @return For each type, a list of Savings objects, one for each K-period.
      */
-    private List<Savings> calculateSavingsForEachKPeriod(ReturnRequest returnRequest, List<ValidTransactionDto> validTransactions, ReturnType type) {
+    private Map<ReturnType, List<Savings>> calculateSavingsForEachKPeriod(ReturnRequest returnRequest, List<Transaction> validTransactions, Set<ReturnType> types) {
+        long start = pipelineMetrics.start();
         List<KConstraint> kPeriods = returnRequest.getK() != null ? returnRequest.getK() : Collections.emptyList();
-        List<Savings> savingsByDates = new ArrayList<>();
+        Map<ReturnType, List<Savings>> savingsByType = new EnumMap<>(ReturnType.class);
+        for (ReturnType type : types) {
+            savingsByType.put(type, new ArrayList<>(kPeriods.size()));
+        }
+
+        GrowthInputs growthInputs = growthInputs(returnRequest);
+
+        // Index the remanents by date once so every K period is answered with two binary searches.
+        PrefixSumIndex remanentsByDate = PrefixSumIndex.of(validTransactions, Transaction::getDate, Transaction::getRemanent);
+        for (KConstraint kPeriod : kPeriods) {
+            // For the given k-period, sum the remanents of transactions that fall within it. This is the principal (P).
+            BigDecimal principalForK = remanentsByDate.sumWithin(kPeriod.getStart(), kPeriod.getEnd());
+            for (Map.Entry<ReturnType, List<Savings>> entry : savingsByType.entrySet()) {
+                entry.getValue().add(processSingleKPeriod(kPeriod, principalForK, entry.getKey(), growthInputs, returnRequest.getWage()));
+            }
+        }
+        pipelineMetrics.record(PipelineMetrics.Stage.RETURNS, start, kPeriods.size());
+        return savingsByType;
+    }
+
+    /** The request-wide inputs to the growth math: the inflation rate as a fraction and the investment period. */
+    record GrowthInputs(BigDecimal inflationRate, int investmentPeriodYears) {}
 
+    /**
+     * Checks and normalizes the age and inflation of a request.
+     * @throws IllegalArgumentException If either is missing.
+     */
+    GrowthInputs growthInputs(ReturnRequest returnRequest) {
         if (returnRequest.getAge() == null || returnRequest.getInflation() == null) {
             throw new IllegalArgumentException("User age and inflation rate must be provided for return calculations.");
         }
@@ -105,26 +146,16 @@ public class ReturnService {
         if (inflationRate.abs().compareTo(BigDecimal.ONE) > 0) {
             inflationRate = inflationRate.divide(new BigDecimal("100"), MC);
         }
-
-        for (KConstraint kPeriod : kPeriods) {
-            savingsByDates.add(processSingleKPeriod(kPeriod, validTransactions, type, inflationRate, investmentPeriodYears, returnRequest.getWage()));
-        }
-        return savingsByDates;
+        return new GrowthInputs(inflationRate, investmentPeriodYears);
     }
 
     /**
      * Processes a single K-period to calculate its financial metrics.
      * @return A populated Savings object for the given period.
      */
-    private Savings processSingleKPeriod(KConstraint kPeriod, List<ValidTransactionDto> validTransactions, ReturnType type, BigDecimal inflationRate, int investmentPeriodYears, BigDecimal annualWage) {
-        // For the given k-period, sum the remanents of transactions that fall within it. This is the principal (P).
-        BigDecimal principalForK = validTransactions.stream()
-                .filter(tx -> isWithinPeriod(tx.getDate(), kPeriod.getStart(), kPeriod.getEnd()))
-                .map(ValidTransactionDto::getRemanent)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
+    Savings processSingleKPeriod(KConstraint kPeriod, BigDecimal principalForK, ReturnType type, GrowthInputs growthInputs, BigDecimal annualWage) {
         // Calculate the real (inflation-adjusted) return value.
-        BigDecimal realReturn = calculateRealReturn(principalForK, type.getRate(), inflationRate, investmentPeriodYears);
+        BigDecimal realReturn = calculateRealReturn(principalForK, type.getRate(), growthInputs.inflationRate(), growthInputs.investmentPeriodYears());
         // The profit is the real return minus the initial principal.
         BigDecimal profits = realReturn.subtract(principalForK);
 
@@ -147,7 +178,7 @@ public class ReturnService {
     /**
      * Builds the final response object.
      */
-    private ReturnResponse buildReturnResponse(BigDecimal totalAmount, BigDecimal totalCeiling, List<Savings> savingsByDates) {
+    ReturnResponse buildReturnResponse(BigDecimal totalAmount, BigDecimal totalCeiling, List<Savings> savingsByDates) {
         return ReturnResponse.builder()
                 .transactionsTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP))
                 .transactionsTotalCeiling(totalCeiling.setScale(2, RoundingMode.HALF_UP))
@@ -158,28 +189,37 @@ public class ReturnService {
     /**
      * Calculates the real, inflation-adjusted return on an investment.
      */
-    private BigDecimal calculateRealReturn(BigDecimal principal, BigDecimal rate, BigDecimal inflation, int years) {
-        // A = P * (1 + r)^t
-        BigDecimal onePlusRate = BigDecimal.ONE.add(rate);
-        BigDecimal nominalReturn = principal.multiply(onePlusRate.pow(years, MC));
-
-        // A_real = A / (1 + inflation)^t
-        BigDecimal onePlusInflation = BigDecimal.ONE.add(inflation);
-        BigDecimal inflationDivisor = onePlusInflation.pow(years, MC);
-
-        if (inflationDivisor.compareTo(BigDecimal.ZERO) == 0) {
+    BigDecimal calculateRealReturn(BigDecimal principal, BigDecimal rate, BigDecimal inflation, int years) {
+        GrowthFactors factors = growthFactors.get(new GrowthKey(rate, inflation, years), ReturnService::computeGrowthFactors);
+        if (factors.inflationDivisor().compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
-        return nominalReturn.divide(inflationDivisor, MC);
+        // A = P * (1 + r)^t, A_real = A / (1 + inflation)^t
+        return principal.multiply(factors.nominalGrowth()).divide(factors.inflationDivisor(), MC);
     }
 
     /**
-     * Checks if a given date falls within a start and end date (inclusive).
+     * Raises {@code 1 + rate} and {@code 1 + inflation} to the investment period. Both powers are kept rather than
+     * their quotient so each K period still rounds once on the multiply-divide, exactly as before the cache.
      */
-    private boolean isWithinPeriod(LocalDateTime date, LocalDateTime start, LocalDateTime end) {
-        return !date.isBefore(start) && !date.isAfter(end);
+    private static GrowthFactors computeGrowthFactors(GrowthKey key) {
+        return new GrowthFactors(
+                BigDecimal.ONE.add(key.rate()).pow(key.years(), MC),
+                BigDecimal.ONE.add(key.inflation()).pow(key.years(), MC));
     }
 
+    /**
+     * @return The approximate number of (rate, inflation, years) combinations cached.
+     */
+    long growthCacheSize() {
+        growthFactors.cleanUp();
+        return growthFactors.estimatedSize();
+    }
+
+    private record GrowthKey(BigDecimal rate, BigDecimal inflation, int years) {}
+
+    private record GrowthFactors(BigDecimal nominalGrowth, BigDecimal inflationDivisor) {}
+
     private BigDecimal calculateNpsTaxBenefit(BigDecimal investedAmount, BigDecimal annualIncome) {
         if (annualIncome == null || annualIncome.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
@@ -0,0 +1,191 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.KConstraint;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import com.example.dto.Savings;
+import com.example.engine.DuplicateDetector;
+import com.example.engine.KWindowIndex;
+import com.example.engine.TemporalIndex;
+import com.example.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validated state of one user's returns calculation, updated as transactions are appended.
+ * <p>
+ * The session holds the screened candidates sorted by date (ties in arrival order), the amount invested after each
+ * one, and the principal of every K period. An append records its duplicates in the shared
+ * {@link DuplicateDetector}, inserts the new candidates, and re-runs the investment cap from the earliest insertion
+ * point. The re-run stops at the first later candidate whose invested total is unchanged, because nothing after it
+ * can change. Only transactions whose verdict flips touch the totals, and only the K periods containing them are
+ * recomputed. The responses always equal a full {@link ReturnService#returns} over every expense received so far.
+ */
+final class ReturnSession {
+
+    private final String id;
+    private final BigDecimal wage;
+    private final List<KConstraint> kPeriods;
+    private final ReturnService.GrowthInputs growthInputs;
+    private final TemporalIndex temporalIndex;
+    private final KWindowIndex kWindows;
+    private final DuplicateDetector duplicates = new DuplicateDetector(0);
+
+    /** Screened transactions in date order; equal dates stay in arrival order. */
+    private final List<Candidate> candidates = new ArrayList<>();
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private BigDecimal totalCeiling = BigDecimal.ZERO;
+    private final BigDecimal[] principals;
+
+    private final Map<ReturnType, Savings[]> savingsByType = new EnumMap<>(ReturnType.class);
+    /** K periods whose principal changed since their savings were last computed. */
+    private final BitSet staleKPeriods = new BitSet();
+
+    private static final class Candidate {
+        private final Transaction transaction;
+        private boolean valid;
+        private boolean pending = true;
+        private BigDecimal investedAfter;
+
+        private Candidate(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+
+    ReturnSession(String id, ReturnRequest returnRequest, ReturnService.GrowthInputs growthInputs) {
+        this.id = id;
+        this.wage = returnRequest.getWage();
+        this.kPeriods = returnRequest.getK() != null ? List.copyOf(returnRequest.getK()) : Collections.emptyList();
+        this.growthInputs = growthInputs;
+        this.temporalIndex = TemporalIndex.build(returnRequest.getP(), returnRequest.getQ(), returnRequest.getK());
+        this.kWindows = KWindowIndex.build(returnRequest.getK());
+        this.principals = new BigDecimal[kPeriods.size()];
+        Arrays.fill(principals, BigDecimal.ZERO);
+        for (ReturnType type : ReturnType.values()) {
+            savingsByType.put(type, new Savings[kPeriods.size()]);
+        }
+        staleKPeriods.set(0, kPeriods.size());
+    }
+
+    String id() {
+        return id;
+    }
+
+    DuplicateDetector duplicates() {
+        return duplicates;
+    }
+
+    TemporalIndex temporalIndex() {
+        return temporalIndex;
+    }
+
+    /**
+     * Adds screened transactions (already checked for duplicates and negatives, with temporal rules applied)
+     * and brings the investment cap, totals and K-period principals up to date.
+     * @return The number of transactions the cap newly rejected: new ones over it, and earlier ones it now excludes.
+     */
+    int add(List<Transaction> screened) {
+        if (screened.isEmpty()) {
+            return 0;
+        }
+        int from = candidates.size();
+        for (Transaction transaction : screened) {
+            int position = insertionPoint(transaction.getDate());
+            candidates.add(position, new Candidate(transaction));
+            from = Math.min(from, position);
+        }
+        return reapplyInvestmentCap(from, screened.size());
+    }
+
+    /** The position after every candidate dated on or before {@code date}. */
+    private int insertionPoint(LocalDateTime date) {
+        int low = 0;
+        int high = candidates.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (candidates.get(mid).transaction.getDate().isAfter(date)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return The number of candidates newly rejected.
+     */
+    private int reapplyInvestmentCap(int from, int pending) {
+        int rejected = 0;
+        BigDecimal invested = from == 0 ? BigDecimal.ZERO : candidates.get(from - 1).investedAfter;
+        for (int i = from; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (!candidate.pending && pending == 0 && invested.compareTo(candidate.investedAfter.subtract(investedBy(candidate))) == 0) {
+                // Everything from here on sees the same invested total as before.
+                return rejected;
+            }
+            BigDecimal amount = candidate.transaction.getAmount();
+            boolean withinCap = wage != null && invested.add(amount).compareTo(wage) <= 0;
+            boolean flipped = withinCap != candidate.valid;
+            if (flipped) {
+                setValid(candidate, withinCap);
+            }
+            // New candidates start out invalid, so they are counted as pending rather than as flipped
+            if (!withinCap && (candidate.pending || flipped)) {
+                rejected++;
+            }
+            if (withinCap) {
+                invested = invested.add(amount);
+            }
+            candidate.investedAfter = invested;
+            if (candidate.pending) {
+                candidate.pending = false;
+                pending--;
+            }
+        }
+        return rejected;
+    }
+
+    /** The amount a candidate itself added to the invested total when its verdict was last set. */
+    private static BigDecimal investedBy(Candidate candidate) {
+        return candidate.valid ? candidate.transaction.getAmount() : BigDecimal.ZERO;
+    }
+
+    private void setValid(Candidate candidate, boolean valid) {
+        candidate.valid = valid;
+        Transaction transaction = candidate.transaction;
+        BigDecimal remanent = valid ? transaction.getRemanent() : transaction.getRemanent().negate();
+        totalAmount = valid ? totalAmount.add(transaction.getAmount()) : totalAmount.subtract(transaction.getAmount());
+        totalCeiling = valid ? totalCeiling.add(transaction.getCeiling()) : totalCeiling.subtract(transaction.getCeiling());
+        for (int k : kWindows.containing(transaction.getDate())) {
+            principals[k] = principals[k].add(remanent);
+            staleKPeriods.set(k);
+        }
+    }
+
+    /**
+     * @return The current response for every return type, recomputing only the K periods that changed.
+     */
+    Map<ReturnType, ReturnResponse> returns(ReturnService returnService) {
+        for (int k = staleKPeriods.nextSetBit(0); k >= 0; k = staleKPeriods.nextSetBit(k + 1)) {
+            for (Map.Entry<ReturnType, Savings[]> entry : savingsByType.entrySet()) {
+                entry.getValue()[k] = returnService.processSingleKPeriod(kPeriods.get(k), principals[k], entry.getKey(), growthInputs, wage);
+            }
+        }
+        staleKPeriods.clear();
+
+        Map<ReturnType, ReturnResponse> responses = new EnumMap<>(ReturnType.class);
+        savingsByType.forEach((type, savings) ->
+                responses.put(type, returnService.buildReturnResponse(totalAmount, totalCeiling, new ArrayList<>(Arrays.asList(savings)))));
+        return responses;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnSessionResponse;
+import com.example.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps returns calculations open between requests so clients can send a user's expenses in pieces.
+ * <p>
+ * A session starts from a {@link ReturnRequest} and accepts further expenses afterwards. Each append does work in
+ * proportion to the new expenses and the transactions whose cap verdict they change, rather than re-validating
+ * everything received so far. Sessions are held in memory, at most {@code autosave.sessions.max-size} of them, and
+ * are dropped after {@code autosave.sessions.ttl} without access.
+ */
+@Service
+public class ReturnSessionService {
+
+    private final TransactionService transactionService;
+    private final ReturnService returnService;
+    private final PipelineMetrics pipelineMetrics;
+    private final Cache<String, ReturnSession> sessions;
+
+    @Autowired
+    public ReturnSessionService(TransactionService transactionService, ReturnService returnService,
+                                PipelineMetrics pipelineMetrics,
+                                @Value("${autosave.sessions.max-size:10000}") long maxSize,
+                                @Value("${autosave.sessions.ttl:30m}") Duration ttl) {
+        this.transactionService = transactionService;
+        this.returnService = returnService;
+        this.pipelineMetrics = pipelineMetrics;
+        this.sessions = Caffeine.newBuilder().maximumSize(maxSize).expireAfterAccess(ttl).build();
+    }
+
+    /**
+     * Opens a session with the request's constraints, age, inflation and wage, and adds its expenses.
+     * @throws IllegalArgumentException If the request has no age or inflation.
+     */
+    public ReturnSessionResponse create(ReturnRequest returnRequest) {
+        ReturnSession session = new ReturnSession(UUID.randomUUID().toString(), returnRequest, returnService.growthInputs(returnRequest));
+        ReturnSessionResponse response = append(session, returnRequest.getTransactions());
+        sessions.put(session.id(), session);
+        return response;
+    }
+
+    /**
+     * @return The current results of the session, or empty if it does not exist or has expired.
+     */
+    public Optional<ReturnSessionResponse> get(String id) {
+        return Optional.ofNullable(sessions.getIfPresent(id)).map(this::response);
+    }
+
+    /**
+     * Adds expenses to a session. The result is the same as a single request carrying every expense sent so far,
+     * in the order they were sent.
+     * @return The updated results, or empty if the session does not exist or has expired.
+     */
+    public Optional<ReturnSessionResponse> append(String id, List<Expense> expenses) {
+        return Optional.ofNullable(sessions.getIfPresent(id)).map(session -> append(session, expenses));
+    }
+
+    /**
+     * @return Whether the session existed.
+     */
+    public boolean delete(String id) {
+        return sessions.asMap().remove(id) != null;
+    }
+
+    private ReturnSessionResponse append(ReturnSession session, List<Expense> expenses) {
+        List<Transaction> parsed = transactionService.parseExpenses(expenses != null ? expenses : Collections.emptyList());
+        synchronized (session) {
+            List<Transaction> screened = transactionService.screenCandidates(parsed, session.duplicates(), session.temporalIndex());
+            long start = pipelineMetrics.start();
+            // The session settles the cap itself, so its rejections are counted here
+            pipelineMetrics.invalid(PipelineMetrics.Reason.CAP, session.add(screened));
+            pipelineMetrics.record(PipelineMetrics.Stage.CAP, start, screened.size());
+            return response(session);
+        }
+    }
+
+    private ReturnSessionResponse response(ReturnSession session) {
+        synchronized (session) {
+            return ReturnSessionResponse.builder()
+                    .id(session.id())
+                    .returns(session.returns(returnService))
+                    .build();
+        }
+    }
+}
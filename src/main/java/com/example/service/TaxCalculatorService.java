@@ -1,5 +1,9 @@
 package com.example.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -7,16 +11,37 @@ import java.math.BigDecimal;
 @Service
 public class TaxCalculatorService {
 
+    private static final long DEFAULT_CACHE_SIZE = 10_000;
+
     // For production, these values should be moved to a configuration file (e.g., application.yml)
-    private static final BigDecimal SLAB_1_THRESHOLD = new BigDecimal("700000");
-    private static final BigDecimal SLAB_2_THRESHOLD = new BigDecimal("1000000");
-    private static final BigDecimal SLAB_3_THRESHOLD = new BigDecimal("1200000");
-    private static final BigDecimal SLAB_4_THRESHOLD = new BigDecimal("1500000");
+    // Lower bound of each taxed slab and the marginal rate applied above it, in ascending order.
+    private static final BigDecimal[] SLAB_THRESHOLDS = {
+            new BigDecimal("700000"), new BigDecimal("1000000"), new BigDecimal("1200000"), new BigDecimal("1500000")};
+    private static final BigDecimal[] SLAB_RATES = {
+            new BigDecimal("0.10"), new BigDecimal("0.15"), new BigDecimal("0.20"), new BigDecimal("0.30")};
+
+    /** Tax owed on an income of exactly {@code SLAB_THRESHOLDS[i]}, i.e. on all slabs below it. */
+    private static final BigDecimal[] CUMULATIVE_TAX = new BigDecimal[SLAB_THRESHOLDS.length];
+
+    static {
+        CUMULATIVE_TAX[0] = BigDecimal.ZERO;
+        for (int i = 1; i < SLAB_THRESHOLDS.length; i++) {
+            BigDecimal slabWidth = SLAB_THRESHOLDS[i].subtract(SLAB_THRESHOLDS[i - 1]);
+            CUMULATIVE_TAX[i] = CUMULATIVE_TAX[i - 1].add(slabWidth.multiply(SLAB_RATES[i - 1]));
+        }
+    }
 
-    private static final BigDecimal SLAB_2_RATE = new BigDecimal("0.10");
-    private static final BigDecimal SLAB_3_RATE = new BigDecimal("0.15");
-    private static final BigDecimal SLAB_4_RATE = new BigDecimal("0.20");
-    private static final BigDecimal SLAB_5_RATE = new BigDecimal("0.30");
+    /** Tax by income; the same wage is looked up for every K period of a request and across requests. */
+    private final Cache<BigDecimal, BigDecimal> taxByIncome;
+
+    public TaxCalculatorService() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    @Autowired
+    public TaxCalculatorService(@Value("${autosave.tax.cache-size:" + DEFAULT_CACHE_SIZE + "}") long cacheSize) {
+        this.taxByIncome = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
 
     /**
      * Calculates the total income tax based on a progressive slab system.
@@ -24,40 +49,22 @@ public class TaxCalculatorService {
      * @return The calculated total tax liability.
      */
     public BigDecimal calculateTax(BigDecimal income) {
-        if (income == null || income.compareTo(SLAB_1_THRESHOLD) <= 0) {
+        if (income == null || income.compareTo(SLAB_THRESHOLDS[0]) <= 0) {
             return BigDecimal.ZERO;
         }
+        // BigDecimal keys are scale-sensitive, so 1E+6 and 1000000 are cached separately and keep their result scales.
+        return taxByIncome.get(income, TaxCalculatorService::computeTax);
+    }
 
-        BigDecimal tax = BigDecimal.ZERO;
-        BigDecimal taxableAmount;
-
-        // Slab > 15L
-        if (income.compareTo(SLAB_4_THRESHOLD) > 0) {
-            taxableAmount = income.subtract(SLAB_4_THRESHOLD);
-            tax = tax.add(taxableAmount.multiply(SLAB_5_RATE));
-            income = SLAB_4_THRESHOLD; // Cap income for next slab calculation
-        }
-
-        // Slab 12L to 15L
-        if (income.compareTo(SLAB_3_THRESHOLD) > 0) {
-            taxableAmount = income.subtract(SLAB_3_THRESHOLD);
-            tax = tax.add(taxableAmount.multiply(SLAB_4_RATE));
-            income = SLAB_3_THRESHOLD;
-        }
-
-        // Slab 10L to 12L
-        if (income.compareTo(SLAB_2_THRESHOLD) > 0) {
-            taxableAmount = income.subtract(SLAB_2_THRESHOLD);
-            tax = tax.add(taxableAmount.multiply(SLAB_3_RATE));
-            income = SLAB_2_THRESHOLD;
-        }
-
-        // Slab 7L to 10L
-        if (income.compareTo(SLAB_1_THRESHOLD) > 0) {
-            taxableAmount = income.subtract(SLAB_1_THRESHOLD);
-            tax = tax.add(taxableAmount.multiply(SLAB_2_RATE));
+    /**
+     * Tax for an income above the first threshold: the precomputed tax up to the highest threshold it exceeds,
+     * plus that slab's rate on the remainder.
+     */
+    private static BigDecimal computeTax(BigDecimal income) {
+        int slab = SLAB_THRESHOLDS.length - 1;
+        while (income.compareTo(SLAB_THRESHOLDS[slab]) <= 0) {
+            slab--;
         }
-
-        return tax;
+        return CUMULATIVE_TAX[slab].add(income.subtract(SLAB_THRESHOLDS[slab]).multiply(SLAB_RATES[slab]));
     }
-}
\ No newline at end of file
+}
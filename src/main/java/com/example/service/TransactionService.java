@@ -1,25 +1,36 @@
 package com.example.service;
 
+import com.example.domain.Money;
 import com.example.dto.*;
+import com.example.engine.ChronologicalOrder;
+import com.example.engine.DuplicateDetector;
+import com.example.engine.TemporalIndex;
+import com.example.engine.TransactionColumns;
 import com.example.mapper.TransactionMapper;
 import com.example.model.Transaction;
+import com.example.utility.ColumnarRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
 import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
     private static final BigDecimal HUNDRED = new BigDecimal("100.0");
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    // Scale of a ceiling computed as amount / HUNDRED * HUNDRED; the remanent takes the larger of this and the amount's scale.
+    private static final int CEILING_SCALE = HUNDRED.scale();
 
     private static final String ERROR_DUPLICATE_TRANSACTION = "Duplicate transaction";
     private static final String ERROR_NEGATIVE_AMOUNT = "Negative amounts are not allowed";
@@ -28,21 +39,48 @@ public class TransactionService {
     @Autowired
     private TransactionMapper transactionMapper;
 
+    @Autowired
+    private ParallelExecutionPolicy executionPolicy;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
     public List<Transaction> parseExpenses(List<Expense> expenses) {
-        return expenses
-                .parallelStream()
-                .map(this::parseExpense)
-                .collect(Collectors.toList());
+        long start = pipelineMetrics.start();
+        List<Transaction> transactions = executionPolicy.map(expenses, this::parseExpense);
+        pipelineMetrics.record(PipelineMetrics.Stage.PARSE, start, expenses.size());
+        return transactions;
     }
 
-    private Transaction parseExpense(Expense expense) {
+    /**
+     * Parses a single expense into a transaction with its ceiling and remanent calculated.
+     * @param expense The raw expense.
+     * @return The parsed transaction.
+     */
+    public Transaction parseExpense(Expense expense) {
         Transaction transaction = Transaction.builder().amount(expense.getAmount()).date(expense.getDate()).build();
-        BigDecimal ceiling = transaction.getAmount().divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
-        transaction.setCeiling(ceiling);
-        transaction.setRemanent(ceiling.subtract(transaction.getAmount()));
+        calculateCeilingAndRemanent(transaction);
         return transaction;
     }
 
+    /**
+     * Rounds the amount up to the next hundred and stores the ceiling and the remanent (the difference).
+     * Amounts that fit in paise are rounded in fixed point, so the only allocations are the two results;
+     * anything else takes the exact {@link BigDecimal} route. Both routes produce identical values and scales.
+     */
+    private void calculateCeilingAndRemanent(Transaction transaction) {
+        long amountPaise = transaction.getAmountPaise();
+        if (amountPaise == Money.UNREPRESENTABLE) {
+            BigDecimal ceiling = transaction.getAmount().divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
+            transaction.setCeiling(ceiling);
+            transaction.setRemanent(ceiling.subtract(transaction.getAmount()));
+            return;
+        }
+        long ceilingPaise = Money.roundUpToHundred(amountPaise);
+        transaction.setCeiling(Money.toBigDecimal(ceilingPaise, CEILING_SCALE));
+        transaction.setRemanent(Money.toBigDecimal(ceilingPaise - amountPaise, Math.max(CEILING_SCALE, transaction.getAmount().scale())));
+    }
+
     /** Internal record to hold the results of the initial validation pass. */
     record PreValidationResult(List<Transaction> candidates, List<InvalidTransactionDto> invalids) {}
 
@@ -50,47 +88,479 @@ public class TransactionService {
     record FinalValidationInput(Transaction transaction, Boolean inKPeriod) {}
 
     public ValidatorResponse validate(ValidatorRequest validatorRequest) {
-        List<Transaction> allTransactions = transactionMapper.toEntityList(validatorRequest.getTransactions());
-        allTransactions.forEach(this::ensureTransactionIsInitialized);
+        ResponseCollector collector = new ResponseCollector();
+        validate(validatorRequest, collector);
+        return collector.toResponse();
+    }
+
+    /**
+     * Validates duplicates, negatives and the investment cap, reporting each verdict to the listener as it is settled.
+     */
+    public void validate(ValidatorRequest validatorRequest, ValidationListener listener) {
+        int chunks = executionPolicy.objectValidationChunks(validatorRequest.getTransactions().size());
+        // Map, initialize, dedup and screen negatives in one pass (inKPeriod is null for this simple validator)
+        List<FinalValidationInput> candidates = screenTransactions(
+                validatorRequest.getTransactions(), this::toInitializedEntity, null, listener, chunks);
+
+        applyInvestmentCap(candidates, validatorRequest.getWage(), listener, chunks);
+    }
+
+    public ValidatorResponse validateTemporalConstraints(ValidatorRequest validatorRequest) {
+        ResponseCollector collector = new ResponseCollector();
+        validateTemporalConstraints(validatorRequest, collector);
+        return collector.toResponse();
+    }
+
+    /**
+     * Validates like {@link #validate(ValidatorRequest, ValidationListener)} after applying the P, Q and K rules,
+     * reporting each verdict to the listener as it is settled.
+     */
+    public void validateTemporalConstraints(ValidatorRequest validatorRequest, ValidationListener listener) {
+        TemporalIndex temporalIndex = TemporalIndex.build(validatorRequest.getP(), validatorRequest.getQ(), validatorRequest.getK());
+        int chunks = executionPolicy.objectValidationChunks(validatorRequest.getTransactions().size());
+
+        // Map, initialize, dedup, screen negatives and apply the temporal rules in one pass
+        List<FinalValidationInput> candidates = screenTransactions(
+                validatorRequest.getTransactions(), this::toInitializedEntity, temporalIndex, listener, chunks);
 
-        // 1. Perform initial validation (duplicates, negatives)
-        PreValidationResult preValidation = findInvalidDuplicatesAndNegatives(allTransactions);
+        applyInvestmentCap(candidates, validatorRequest.getWage(), listener, chunks);
+    }
+
+    /**
+     * Internal counterpart of {@link #validateTemporalConstraints(ValidatorRequest)} for callers that already hold
+     * transactions produced by {@link #parseExpenses}. The transactions are screened in place, with no DTO copies
+     * and no re-initialization, and the temporal rules update their remanents.
+     * @param transactions Parsed transactions; they are modified and must not be shared.
+     * @param wage The maximum amount that can be invested.
+     * @return The valid transactions in date order; duplicates, negatives and those over the cap are left out.
+     */
+    public List<Transaction> validTransactions(List<Transaction> transactions, BigDecimal wage,
+                                               List<PConstraint> p, List<QConstraint> q, List<KConstraint> k) {
+        TemporalIndex temporalIndex = TemporalIndex.build(p, q, k);
+        ValidCollector collector = new ValidCollector();
+        int chunks = executionPolicy.objectValidationChunks(transactions.size());
+        List<FinalValidationInput> candidates = screenTransactions(transactions, Function.identity(), temporalIndex, collector, chunks);
+
+        applyInvestmentCap(candidates, wage, collector, chunks);
+        return collector.valid;
+    }
 
-        // 2. Prepare for final validation (inKPeriod is null for this simple validator)
-        List<FinalValidationInput> finalCandidates = preValidation.candidates().stream()
-                .map(tx -> new FinalValidationInput(tx, null))
+    /**
+     * Screens parsed transactions that extend an earlier set, for callers that keep their own state between calls.
+     * Duplicates are checked against every key the detector has already seen, and the new keys are added to it.
+     * @param transactions Parsed transactions; they are modified and must not be shared.
+     * @param duplicates The keys seen so far.
+     * @param temporalIndex The P, Q and K rules of the original request.
+     * @return The transactions that are neither duplicates nor negative, with the temporal rules applied, in the given
+     * order. The investment cap is not applied.
+     */
+    public List<Transaction> screenCandidates(List<Transaction> transactions, DuplicateDetector duplicates, TemporalIndex temporalIndex) {
+        return screenTransactions(transactions, Function.identity(), duplicates, temporalIndex, new ValidCollector()).stream()
+                .map(FinalValidationInput::transaction)
                 .collect(Collectors.toList());
+    }
 
-        // 3. Apply investment cap and build response
-        return applyInvestmentCap(finalCandidates, validatorRequest.getWage(), preValidation.invalids());
+    /**
+     * Appends a transaction to a columnar batch, calculating its ceiling and remanent if either is missing, as
+     * {@link #validate(ValidatorRequest)} does for a DTO.
+     * @throws ColumnarRequestException If the date is not a whole second, or an amount does not {@link TransactionColumns#fits fit}.
+     */
+    public void addTo(TransactionColumns columns, TransactionDto transactionDto) {
+        BigDecimal amount = transactionDto.getAmount();
+        long amountPaise = TransactionColumns.paiseOf(amount);
+        if (amountPaise == Money.UNREPRESENTABLE || !TransactionColumns.fits(transactionDto.getDate())) {
+            throw new ColumnarRequestException("Transaction " + columns.size() + " cannot be validated in columns: "
+                    + "dates must be whole seconds and amounts must have at most two decimal places");
+        }
+        long epochSecond = transactionDto.getDate().toEpochSecond(ZoneOffset.UTC);
+        BigDecimal ceiling = transactionDto.getCeiling();
+        BigDecimal remanent = transactionDto.getRemanent();
+        if (ceiling == null || remanent == null) {
+            addExpenseTo(columns, epochSecond, amountPaise, amount.scale());
+            return;
+        }
+        long ceilingPaise = TransactionColumns.paiseOf(ceiling);
+        long remanentPaise = TransactionColumns.paiseOf(remanent);
+        if (ceilingPaise == Money.UNREPRESENTABLE || remanentPaise == Money.UNREPRESENTABLE) {
+            throw new ColumnarRequestException("Transaction " + columns.size() + " cannot be validated in columns: "
+                    + "ceiling and remanent must have at most two decimal places");
+        }
+        columns.add(epochSecond, amountPaise, amount.scale(), ceilingPaise, ceiling.scale(), remanentPaise, remanent.scale());
     }
 
-    public ValidatorResponse validateTemporalConstraints(ValidatorRequest validatorRequest) {
-        List<Transaction> allTransactions = transactionMapper.toEntityList(validatorRequest.getTransactions());
-        allTransactions.forEach(this::ensureTransactionIsInitialized);
+    /**
+     * Appends an expense to a columnar batch with its ceiling and remanent calculated, as {@link #parseExpense} does.
+     * @param amountPaise The amount in paise, a whole number at {@code amountScale} (between zero and two).
+     * @return The new row's number.
+     */
+    public int addExpenseTo(TransactionColumns columns, long epochSecond, long amountPaise, int amountScale) {
+        long ceilingPaise = Money.roundUpToHundred(amountPaise);
+        return columns.add(epochSecond, amountPaise, amountScale, ceilingPaise, CEILING_SCALE,
+                ceilingPaise - amountPaise, Math.max(CEILING_SCALE, amountScale));
+    }
+
+    /**
+     * Columnar counterpart of {@link #validate(ValidatorRequest, ValidationListener)}: sets every row's verdict
+     * without creating an object per row.
+     * @param columns The batch; its verdicts are overwritten.
+     * @return The row numbers in the order a {@link ValidationListener} would have received their verdicts.
+     */
+    public int[] validate(TransactionColumns columns, BigDecimal wage) {
+        return validateColumns(columns, wage, null);
+    }
+
+    /**
+     * Columnar counterpart of {@link #validateTemporalConstraints(ValidatorRequest, ValidationListener)}: sets every
+     * row's verdict, K-period flag and remanent without creating an object per row.
+     * @param columns The batch; its verdicts and remanents are overwritten.
+     * @return The row numbers in the order a {@link ValidationListener} would have received their verdicts.
+     * @throws ColumnarRequestException If a P extra or Q fixed amount that applies has more than two decimal places.
+     */
+    public int[] validateTemporalConstraints(TransactionColumns columns, BigDecimal wage,
+                                             List<PConstraint> p, List<QConstraint> q, List<KConstraint> k) {
+        return validateColumns(columns, wage, TemporalIndex.build(p, q, k));
+    }
+
+    /**
+     * Mirrors {@link #screenTransactions} and {@link #applyInvestmentCap} over the columns. Duplicates and negatives
+     * are settled in input order, then the remaining rows in date order. Batches the execution policy splits are
+     * validated in chunks on its pool, with the same verdicts, remanents and order.
+     */
+    private int[] validateColumns(TransactionColumns columns, BigDecimal wage, TemporalIndex temporalIndex) {
+        long start = pipelineMetrics.start();
+        int size = columns.size();
+        int chunks = executionPolicy.validationChunks(size);
+        int[] settled = new int[size];
+        int settledCount = 0;
+        int[] negatives = new int[size];
+        int negativeCount = 0;
+        int[] candidates = new int[size];
+        int candidateCount = 0;
+
+        if (chunks > 1) {
+            pipelineMetrics.dedupFootprint(start, screenColumnsInParallel(columns, temporalIndex, chunks));
+            // Gathering the verdicts in row order gives the lists the loop below builds
+            for (int row = 0; row < size; row++) {
+                switch (columns.verdict(row)) {
+                    case TransactionColumns.DUPLICATE -> settled[settledCount++] = row;
+                    case TransactionColumns.NEGATIVE -> negatives[negativeCount++] = row;
+                    default -> candidates[candidateCount++] = row;
+                }
+            }
+        } else {
+            DuplicateDetector duplicates = new DuplicateDetector(size);
+            // The P sums and Q periods are shared objects, one per step of the index, so each is converted once.
+            Map<Object, Long> paiseByAmount = new IdentityHashMap<>();
+            for (int row = 0; row < size; row++) {
+                long second = columns.epochSecond(row);
+                long amountPaise = columns.amountPaise(row);
+                if (!duplicates.add(second, amountPaise, columns.amountScale(row))) {
+                    columns.setVerdict(row, TransactionColumns.DUPLICATE);
+                    settled[settledCount++] = row;
+                } else if (amountPaise < 0) {
+                    columns.setVerdict(row, TransactionColumns.NEGATIVE);
+                    negatives[negativeCount++] = row;
+                } else {
+                    if (temporalIndex != null) {
+                        applyTemporalRules(columns, row, second, temporalIndex, paiseByAmount);
+                    }
+                    candidates[candidateCount++] = row;
+                }
+            }
+            pipelineMetrics.dedupFootprint(start, duplicates.footprintBytes());
+        }
+        int duplicateCount = settledCount;
+        System.arraycopy(negatives, 0, settled, settledCount, negativeCount);
+        settledCount += negativeCount;
+        pipelineMetrics.invalid(PipelineMetrics.Reason.DUPLICATE, duplicateCount);
+        pipelineMetrics.invalid(PipelineMetrics.Reason.NEGATIVE, negativeCount);
+        pipelineMetrics.record(PipelineMetrics.Stage.SCREEN, start, size);
+
+        start = pipelineMetrics.start();
+        int count = candidateCount;
+        if (chunks > 1) {
+            executionPolicy.run(() -> ChronologicalOrder.sort(candidates, count, columns::epochSecond, true));
+        } else {
+            ChronologicalOrder.sort(candidates, count, columns::epochSecond);
+        }
+        // Amounts are whole, non-negative paise, so comparing against the wage rounded down to a paisa is exact,
+        // and any wage below zero (or none) admits nothing.
+        long maxPaise = wage == null ? -1 : wage.movePointRight(Money.SCALE).setScale(0, RoundingMode.FLOOR)
+                .max(BigDecimal.ONE.negate()).min(BigDecimal.valueOf(Long.MAX_VALUE)).longValue();
+        int overCap = 0;
+        if (chunks > 1) {
+            boolean[] withinCap = capInParallel(i -> columns.amountPaise(candidates[i]), count, maxPaise, chunks);
+            for (int i = 0; i < count; i++) {
+                if (withinCap[i]) {
+                    columns.setVerdict(candidates[i], TransactionColumns.VALID);
+                } else {
+                    columns.setVerdict(candidates[i], TransactionColumns.OVER_CAP);
+                    overCap++;
+                }
+            }
+        } else {
+            overCap = applyColumnCap(columns, candidates, count, maxPaise);
+        }
+        System.arraycopy(candidates, 0, settled, settledCount, candidateCount);
+        pipelineMetrics.invalid(PipelineMetrics.Reason.CAP, overCap);
+        pipelineMetrics.record(PipelineMetrics.Stage.CAP, start, candidateCount);
+        return settled;
+    }
+
+    /**
+     * Sets the duplicate, negative and pending verdicts, and applies the temporal rules, for every row.
+     * <p>
+     * Rows are split into chunks by a hash of their date, so all the rows sharing a date, and with them every
+     * duplicate, fall in the same chunk. Each chunk keeps its rows in input order and has its own detector, so it
+     * finds exactly the duplicates one pass over the whole batch would. If the temporal rules fail for some rows, the
+     * exception for the first of them in input order is thrown, as the sequential pass would.
+     * @return The bytes held by the detectors of all the chunks.
+     */
+    private long screenColumnsInParallel(TransactionColumns columns, TemporalIndex temporalIndex, int chunks) {
+        int size = columns.size();
+        // Counting sort of the rows by chunk, keeping input order within each chunk
+        int[] chunkOf = new int[size];
+        int[] chunkStarts = new int[chunks + 1];
+        for (int row = 0; row < size; row++) {
+            int chunk = chunkOf(columns.epochSecond(row), chunks);
+            chunkOf[row] = chunk;
+            chunkStarts[chunk + 1]++;
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkStarts[chunk + 1] += chunkStarts[chunk];
+        }
+        int[] rows = new int[size];
+        int[] next = Arrays.copyOf(chunkStarts, chunks);
+        for (int row = 0; row < size; row++) {
+            rows[next[chunkOf[row]]++] = row;
+        }
 
-        // 1. Perform initial validation (duplicates, negatives)
-        PreValidationResult preValidation = findInvalidDuplicatesAndNegatives(allTransactions);
-        List<Transaction> candidates = preValidation.candidates();
-        List<InvalidTransactionDto> invalidTransactions = preValidation.invalids();
+        FirstFailure failure = new FirstFailure();
+        long[] footprints = new long[chunks];
+        executionPolicy.forEach(chunks, chunk -> {
+            DuplicateDetector duplicates = new DuplicateDetector(chunkStarts[chunk + 1] - chunkStarts[chunk]);
+            Map<Object, Long> paiseByAmount = new IdentityHashMap<>();
+            for (int i = chunkStarts[chunk]; i < chunkStarts[chunk + 1]; i++) {
+                int row = rows[i];
+                long second = columns.epochSecond(row);
+                long amountPaise = columns.amountPaise(row);
+                if (!duplicates.add(second, amountPaise, columns.amountScale(row))) {
+                    columns.setVerdict(row, TransactionColumns.DUPLICATE);
+                } else if (amountPaise < 0) {
+                    columns.setVerdict(row, TransactionColumns.NEGATIVE);
+                } else {
+                    // Cleared because the gather tells candidates apart by their verdict
+                    columns.setVerdict(row, TransactionColumns.PENDING);
+                    if (temporalIndex != null) {
+                        try {
+                            applyTemporalRules(columns, row, second, temporalIndex, paiseByAmount);
+                        } catch (RuntimeException e) {
+                            failure.record(row, e);
+                            return;
+                        }
+                    }
+                }
+            }
+            footprints[chunk] = duplicates.footprintBytes();
+        });
+        failure.rethrow();
+        return Arrays.stream(footprints).sum();
+    }
 
-        // 2. Apply temporal rules to the valid candidates
-        List<QConstraint> qPeriods = validatorRequest.getQ() != null ? validatorRequest.getQ() : Collections.emptyList();
-        List<PConstraint> pPeriods = validatorRequest.getP() != null ? validatorRequest.getP() : Collections.emptyList();
-        List<KConstraint> kPeriods = validatorRequest.getK() != null ? validatorRequest.getK() : Collections.emptyList();
+    private static int chunkOf(long epochSecond, int chunks) {
+        long h = epochSecond * 0x9E3779B97F4A7C15L;
+        return (int) (((h >>> 32) * chunks) >>> 32);
+    }
 
-        List<FinalValidationInput> processedTransactions = new ArrayList<>();
-        for (Transaction transaction : candidates) {
-            applyTemporalRules(transaction, pPeriods, qPeriods);
+    /**
+     * Settles the first {@code count} candidates, in date order, as valid or over the cap.
+     * @return The number over the cap.
+     */
+    private static int applyColumnCap(TransactionColumns columns, int[] candidates, int count, long maxPaise) {
+        int overCap = 0;
+        long investedPaise = 0;
+        for (int i = 0; i < count; i++) {
+            int row = candidates[i];
+            long amountPaise = columns.amountPaise(row);
+            // Written as a difference so that a huge wage cannot overflow the sum
+            if (amountPaise <= maxPaise - investedPaise) {
+                columns.setVerdict(row, TransactionColumns.VALID);
+                investedPaise += amountPaise;
+            } else {
+                columns.setVerdict(row, TransactionColumns.OVER_CAP);
+                overCap++;
+            }
+        }
+        return overCap;
+    }
 
-            boolean isInKPeriod = kPeriods.stream()
-                    .anyMatch(k -> isWithinPeriod(transaction.getDate(), k.getStart(), k.getEnd()));
+    /**
+     * Works out which of the date-ordered candidates fit under the cap, with the same result as adding them up one
+     * by one, doing most of the work in parallel.
+     * <p>
+     * Until the cap first binds, every candidate fits and the running total is a plain prefix sum of the amounts.
+     * The candidates are split into contiguous chunks whose totals are summed in parallel; a scan over those totals
+     * finds the chunk where the prefix sum first passes the cap, and a scan within it the binding candidate. After
+     * it, the room left under the cap can only shrink, so every later amount larger than the room at the binding
+     * candidate is over the cap whatever else fits. Those are settled in parallel, and only the smaller ones are
+     * added up one by one.
+     * @param amountOf The amount in paise of the candidate at a position; candidates are never negative.
+     * @return Whether each candidate fits, or {@code null} if an amount has no paise form.
+     */
+    private boolean[] capInParallel(IntToLongFunction amountOf, int count, long maxPaise, int chunks) {
+        int chunkSize = (count + chunks - 1) / chunks;
+        long[] chunkTotals = new long[chunks];
+        boolean[] unrepresentable = new boolean[chunks];
+        executionPolicy.forEach(chunks, chunk -> {
+            long total = 0;
+            for (int i = chunk * chunkSize, end = Math.min(count, i + chunkSize); i < end; i++) {
+                long amountPaise = amountOf.applyAsLong(i);
+                if (amountPaise == Money.UNREPRESENTABLE) {
+                    unrepresentable[chunk] = true;
+                    return;
+                }
+                // Saturating, so a total past Long.MAX_VALUE still compares as over any wage
+                total = saturatedAdd(total, amountPaise);
+            }
+            chunkTotals[chunk] = total;
+        });
+        for (boolean found : unrepresentable) {
+            if (found) {
+                return null;
+            }
+        }
 
-            processedTransactions.add(new FinalValidationInput(transaction, isInKPeriod));
+        long investedPaise = 0;
+        int chunk = 0;
+        // A saturated total is only known to reach Long.MAX_VALUE, so its chunk is scanned
+        while (chunk < chunks && chunkTotals[chunk] < Long.MAX_VALUE && chunkTotals[chunk] <= maxPaise - investedPaise) {
+            investedPaise += chunkTotals[chunk++];
+        }
+        int binding = Math.min(count, chunk * chunkSize);
+        if (chunk < chunks) {
+            for (int end = Math.min(count, binding + chunkSize); binding < end; binding++) {
+                long amountPaise = amountOf.applyAsLong(binding);
+                if (amountPaise > maxPaise - investedPaise) {
+                    break;
+                }
+                investedPaise += amountPaise;
+            }
         }
 
-        // 3. Apply investment cap and build response
-        return applyInvestmentCap(processedTransactions, validatorRequest.getWage(), invalidTransactions);
+        boolean[] withinCap = new boolean[count];
+        int first = binding;
+        long room = maxPaise - investedPaise;
+        int[][] smaller = new int[chunks][];
+        int[] smallerCounts = new int[chunks];
+        executionPolicy.forEach(chunks, c -> {
+            int from = c * chunkSize;
+            int end = Math.min(count, from + chunkSize);
+            Arrays.fill(withinCap, Math.min(from, first), Math.min(end, first), true);
+            int[] positions = new int[Math.max(0, end - Math.max(from, first + 1))];
+            int found = 0;
+            for (int i = Math.max(from, first + 1); i < end; i++) {
+                if (amountOf.applyAsLong(i) <= room) {
+                    positions[found++] = i;
+                }
+            }
+            smaller[c] = positions;
+            smallerCounts[c] = found;
+        });
+        for (int c = 0; c < chunks; c++) {
+            for (int j = 0; j < smallerCounts[c]; j++) {
+                int i = smaller[c][j];
+                long amountPaise = amountOf.applyAsLong(i);
+                if (amountPaise <= maxPaise - investedPaise) {
+                    withinCap[i] = true;
+                    investedPaise += amountPaise;
+                }
+            }
+        }
+        return withinCap;
+    }
+
+    private static long saturatedAdd(long total, long amountPaise) {
+        long sum = total + amountPaise;
+        return sum < total ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Columnar counterpart of {@link #applyTemporalRules(Transaction, TemporalIndex)}: the remanent and its scale
+     * follow the same {@link BigDecimal} rules, worked out in paise.
+     */
+    private void applyTemporalRules(TransactionColumns columns, int row, long second, TemporalIndex temporalIndex,
+                                    Map<Object, Long> paiseByAmount) {
+        long remanentPaise = columns.remanentPaise(row);
+        int remanentScale = columns.remanentScale(row);
+
+        QConstraint chosenQ = temporalIndex.overrideFor(second);
+        if (chosenQ != null) {
+            remanentPaise = paiseByAmount.computeIfAbsent(chosenQ, q -> columnPaise(((QConstraint) q).getFixed(), "Q fixed amount"));
+            remanentScale = chosenQ.getFixed().scale();
+        }
+
+        BigDecimal extra = temporalIndex.extraFor(second);
+        if (extra.signum() != 0 || extra.scale() != 0) {
+            remanentPaise += paiseByAmount.computeIfAbsent(extra, e -> columnPaise((BigDecimal) e, "P extra"));
+            remanentScale = Math.max(remanentScale, extra.scale());
+        }
+        columns.setRemanent(row, remanentPaise, remanentScale);
+        columns.setInKPeriod(row, temporalIndex.inKPeriod(second));
+    }
+
+    private static long columnPaise(BigDecimal amount, String name) {
+        long paise = TransactionColumns.paiseOf(amount);
+        if (paise == Money.UNREPRESENTABLE) {
+            throw new ColumnarRequestException(name + " " + amount + " cannot be validated in columns: "
+                    + "amounts must have at most two decimal places");
+        }
+        return paise;
+    }
+
+    /**
+     * Builds the DTO a {@link ResponseCollector} would list for a validated row.
+     */
+    public ValidTransactionDto toValidDto(TransactionColumns columns, int row) {
+        return ValidTransactionDto.builder()
+                .amount(columns.amount(row))
+                .date(columns.date(row))
+                .ceiling(columns.ceiling(row))
+                .remanent(columns.remanent(row))
+                .inKPeriod(columns.inKPeriod(row))
+                .build();
+    }
+
+    /**
+     * Builds the DTO a {@link ResponseCollector} would list for a rejected row.
+     */
+    public InvalidTransactionDto toInvalidDto(TransactionColumns columns, int row) {
+        return InvalidTransactionDto.builder()
+                .amount(columns.amount(row))
+                .date(columns.date(row))
+                .ceiling(columns.ceiling(row))
+                .remanent(columns.remanent(row))
+                .message(rejectionMessage(columns.verdict(row)))
+                .build();
+    }
+
+    /**
+     * @param verdict {@link TransactionColumns#DUPLICATE}, {@link TransactionColumns#NEGATIVE} or
+     * {@link TransactionColumns#OVER_CAP}.
+     * @return The message an invalid transaction carries for the verdict.
+     */
+    public static String rejectionMessage(byte verdict) {
+        return switch (verdict) {
+            case TransactionColumns.DUPLICATE -> ERROR_DUPLICATE_TRANSACTION;
+            case TransactionColumns.NEGATIVE -> ERROR_NEGATIVE_AMOUNT;
+            case TransactionColumns.OVER_CAP -> ERROR_INVESTMENT_EXCEEDS_CAP;
+            default -> throw new IllegalStateException("Verdict " + verdict + " is not a rejection");
+        };
+    }
+
+    private Transaction toInitializedEntity(TransactionDto transactionDto) {
+        Transaction transaction = transactionMapper.toEntity(transactionDto);
+        ensureTransactionIsInitialized(transaction);
+        return transaction;
     }
 
     /**
@@ -100,9 +570,7 @@ public class TransactionService {
      */
     private void ensureTransactionIsInitialized(Transaction transaction) {
         if (transaction.getAmount() != null && (transaction.getRemanent() == null || transaction.getCeiling() == null)) {
-            BigDecimal ceiling = transaction.getAmount().divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
-            transaction.setCeiling(ceiling);
-            transaction.setRemanent(ceiling.subtract(transaction.getAmount()));
+            calculateCeilingAndRemanent(transaction);
         }
     }
 
@@ -110,21 +578,17 @@ public class TransactionService {
      * Applies all temporal (P and Q) rules to a single transaction, modifying its remanent.
      * Q-rules (override) are applied before P-rules (addition).
      */
-    private void applyTemporalRules(Transaction transaction, List<PConstraint> pPeriods, List<QConstraint> qPeriods) {
+    private void applyTemporalRules(Transaction transaction, TemporalIndex temporalIndex) {
         LocalDateTime txDate = transaction.getDate();
 
-        // --- Q-Period Logic: Override remanent ---
-        qPeriods.stream()
-                .filter(q -> isWithinPeriod(txDate, q.getStart(), q.getEnd()))
-                .max(Comparator.comparing(QConstraint::getStart)) // Find the latest start date
-                .ifPresent(chosenQ -> transaction.setRemanent(chosenQ.getFixed()));
+        // --- Q-Period Logic: Override remanent with the latest-starting Q period ---
+        QConstraint chosenQ = temporalIndex.overrideFor(txDate);
+        if (chosenQ != null) {
+            transaction.setRemanent(chosenQ.getFixed());
+        }
 
         // --- P-Period Logic: Add extra amount ---
-        BigDecimal extraFromP = pPeriods.stream()
-                .filter(p -> isWithinPeriod(txDate, p.getStart(), p.getEnd()))
-                .map(PConstraint::getExtra)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        transaction.setRemanent(transaction.getRemanent().add(extraFromP));
+        transaction.setRemanent(transaction.getRemanent().add(temporalIndex.extraFor(txDate)));
     }
 
     public boolean isWithinPeriod(LocalDateTime date, LocalDateTime start, LocalDateTime end) {
@@ -138,33 +602,165 @@ public class TransactionService {
      * @return A {@link PreValidationResult} containing valid candidates and a list of invalid transactions.
      */
     PreValidationResult findInvalidDuplicatesAndNegatives(List<Transaction> allTransactions) {
-        List<InvalidTransactionDto> currentInvalids = new ArrayList<>();
+        ResponseCollector collector = new ResponseCollector();
+        List<Transaction> candidates = screenTransactions(allTransactions, Function.identity(), null, collector, 1).stream()
+                .map(FinalValidationInput::transaction)
+                .collect(Collectors.toList());
+        return new PreValidationResult(candidates, collector.invalid);
+    }
 
-        // 1. Handle duplicates
-        record TransactionKey(BigDecimal amount, LocalDateTime date) {}
-        Map<TransactionKey, List<Transaction>> grouped = allTransactions.stream()
-                .collect(Collectors.groupingBy(t -> new TransactionKey(t.getAmount(), t.getDate())));
+    /**
+     * Fused first validation stage, a single pass in request order. Each input is converted and checked against
+     * the (amount, date) keys seen so far: repeats are reported as duplicates straight away, the first occurrence
+     * of a key is kept, and the kept transactions are screened for negatives and given their temporal rules.
+     * @param inputs The incoming transactions, in request order.
+     * @param toTransaction Converts an input into an initialized transaction.
+     * @param temporalIndex The P, Q and K rules to apply, or {@code null} to skip them and leave inKPeriod unset.
+     * @param listener Receives the duplicate and negative-amount transactions, duplicates first.
+     * @param chunks The number of chunks the execution policy split the batch into, or 1 to screen it on this thread.
+     * @return The remaining candidates in request order, ready for the investment cap.
+     */
+    private <T> List<FinalValidationInput> screenTransactions(List<T> inputs, Function<T, Transaction> toTransaction,
+                                                             TemporalIndex temporalIndex, ValidationListener listener,
+                                                             int chunks) {
+        if (chunks > 1) {
+            return screenTransactionsInParallel(inputs, toTransaction, temporalIndex, listener, chunks);
+        }
+        return screenTransactions(inputs, toTransaction, new DuplicateDetector(inputs.size()), temporalIndex, listener);
+    }
 
-        List<Transaction> uniqueTransactions = new ArrayList<>();
-        for (List<Transaction> group : grouped.values()) {
-            uniqueTransactions.add(group.get(0)); // First is original
-            if (group.size() > 1) {
-                group.subList(1, group.size()).forEach(dup ->
-                        currentInvalids.add(transactionMapper.toInvalidDto(dup, ERROR_DUPLICATE_TRANSACTION)));
+    /**
+     * As {@link #screenTransactions(List, Function, TemporalIndex, ValidationListener, int)}, checking duplicates against
+     * (and recording keys into) the given detector, which may already hold keys from earlier inputs.
+     */
+    private <T> List<FinalValidationInput> screenTransactions(List<T> inputs, Function<T, Transaction> toTransaction,
+                                                             DuplicateDetector duplicates, TemporalIndex temporalIndex,
+                                                             ValidationListener listener) {
+        long start = pipelineMetrics.start();
+        int duplicateCount = 0;
+        List<Transaction> negatives = new ArrayList<>();
+        List<FinalValidationInput> candidates = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            Transaction transaction = toTransaction.apply(input);
+            if (!duplicates.add(transaction)) {
+                duplicateCount++;
+                listener.invalid(transaction, ERROR_DUPLICATE_TRANSACTION);
+            } else if (isNegative(transaction)) {
+                // Held back so that negatives follow every duplicate
+                negatives.add(transaction);
+            } else if (temporalIndex != null) {
+                applyTemporalRules(transaction, temporalIndex);
+                candidates.add(new FinalValidationInput(transaction, temporalIndex.inKPeriod(transaction.getDate())));
+            } else {
+                candidates.add(new FinalValidationInput(transaction, null));
             }
         }
+        negatives.forEach(negative -> listener.invalid(negative, ERROR_NEGATIVE_AMOUNT));
 
-        // 2. Handle negatives from the unique list
-        List<Transaction> finalCandidates = new ArrayList<>();
-        for (Transaction transaction : uniqueTransactions) {
-            if (transaction.getAmount() != null && transaction.getAmount().compareTo(ZERO) < 0) {
-                currentInvalids.add(transactionMapper.toInvalidDto(transaction, ERROR_NEGATIVE_AMOUNT));
-            } else {
-                finalCandidates.add(transaction);
+        pipelineMetrics.invalid(PipelineMetrics.Reason.DUPLICATE, duplicateCount);
+        pipelineMetrics.invalid(PipelineMetrics.Reason.NEGATIVE, negatives.size());
+        pipelineMetrics.dedupFootprint(start, duplicates.footprintBytes());
+        pipelineMetrics.record(PipelineMetrics.Stage.SCREEN, start, inputs.size());
+        return candidates;
+    }
+
+    /**
+     * Object counterpart of {@link #screenColumnsInParallel}. The inputs are converted in contiguous ranges, then
+     * screened in chunks split by a hash of their date, each with its own detector. The verdicts are reported to the
+     * listener from the calling thread, in the order the sequential pass reports them.
+     */
+    private <T> List<FinalValidationInput> screenTransactionsInParallel(List<T> inputs, Function<T, Transaction> toTransaction,
+                                                                       TemporalIndex temporalIndex, ValidationListener listener,
+                                                                       int chunks) {
+        long start = pipelineMetrics.start();
+        int size = inputs.size();
+        Transaction[] transactions = new Transaction[size];
+        int rangeSize = (size + chunks - 1) / chunks;
+        FirstFailure failure = new FirstFailure();
+        executionPolicy.forEach(chunks, range -> {
+            for (int i = range * rangeSize, end = Math.min(size, i + rangeSize); i < end; i++) {
+                try {
+                    transactions[i] = toTransaction.apply(inputs.get(i));
+                } catch (RuntimeException e) {
+                    failure.record(i, e);
+                    return;
+                }
             }
+        });
+        failure.rethrow();
+
+        // Counting sort of the positions by chunk, keeping input order within each chunk
+        int[] chunkOf = new int[size];
+        int[] chunkStarts = new int[chunks + 1];
+        for (int i = 0; i < size; i++) {
+            LocalDateTime date = transactions[i].getDate();
+            int chunk = date == null ? 0 : chunkOf(date.toEpochSecond(ZoneOffset.UTC), chunks);
+            chunkOf[i] = chunk;
+            chunkStarts[chunk + 1]++;
         }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkStarts[chunk + 1] += chunkStarts[chunk];
+        }
+        int[] positions = new int[size];
+        int[] next = Arrays.copyOf(chunkStarts, chunks);
+        for (int i = 0; i < size; i++) {
+            positions[next[chunkOf[i]]++] = i;
+        }
+
+        byte[] verdicts = new byte[size];
+        Boolean[] inKPeriod = new Boolean[size];
+        long[] footprints = new long[chunks];
+        executionPolicy.forEach(chunks, chunk -> {
+            DuplicateDetector duplicates = new DuplicateDetector(chunkStarts[chunk + 1] - chunkStarts[chunk]);
+            for (int p = chunkStarts[chunk]; p < chunkStarts[chunk + 1]; p++) {
+                int i = positions[p];
+                Transaction transaction = transactions[i];
+                try {
+                    if (!duplicates.add(transaction)) {
+                        verdicts[i] = TransactionColumns.DUPLICATE;
+                    } else if (isNegative(transaction)) {
+                        verdicts[i] = TransactionColumns.NEGATIVE;
+                    } else if (temporalIndex != null) {
+                        applyTemporalRules(transaction, temporalIndex);
+                        inKPeriod[i] = temporalIndex.inKPeriod(transaction.getDate());
+                    }
+                } catch (RuntimeException e) {
+                    failure.record(i, e);
+                    return;
+                }
+            }
+            footprints[chunk] = duplicates.footprintBytes();
+        });
+        failure.rethrow();
+        pipelineMetrics.dedupFootprint(start, Arrays.stream(footprints).sum());
+
+        int duplicateCount = 0;
+        List<Transaction> negatives = new ArrayList<>();
+        List<FinalValidationInput> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (verdicts[i]) {
+                case TransactionColumns.DUPLICATE -> {
+                    duplicateCount++;
+                    listener.invalid(transactions[i], ERROR_DUPLICATE_TRANSACTION);
+                }
+                case TransactionColumns.NEGATIVE -> negatives.add(transactions[i]);
+                default -> candidates.add(new FinalValidationInput(transactions[i], inKPeriod[i]));
+            }
+        }
+        negatives.forEach(negative -> listener.invalid(negative, ERROR_NEGATIVE_AMOUNT));
+
+        pipelineMetrics.invalid(PipelineMetrics.Reason.DUPLICATE, duplicateCount);
+        pipelineMetrics.invalid(PipelineMetrics.Reason.NEGATIVE, negatives.size());
+        pipelineMetrics.record(PipelineMetrics.Stage.SCREEN, start, size);
+        return candidates;
+    }
 
-        return new PreValidationResult(finalCandidates, currentInvalids);
+    private boolean isNegative(Transaction transaction) {
+        long amountPaise = transaction.getAmountPaise();
+        if (amountPaise != Money.UNREPRESENTABLE) {
+            return amountPaise < 0;
+        }
+        return transaction.getAmount() != null && transaction.getAmount().compareTo(ZERO) < 0;
     }
 
     /**
@@ -179,27 +775,136 @@ public class TransactionService {
             BigDecimal maxAmountToInvest,
             List<InvalidTransactionDto> initialInvalids) {
 
-        List<ValidTransactionDto> validTransactions = new ArrayList<>();
-        List<InvalidTransactionDto> invalidTransactions = new ArrayList<>(initialInvalids);
+        ResponseCollector collector = new ResponseCollector();
+        collector.invalid.addAll(initialInvalids);
+        applyInvestmentCap(candidates, maxAmountToInvest, collector, 1);
+        return collector.toResponse();
+    }
 
-        // Sort candidates by date for chronological investment validation
-        candidates.sort(Comparator.comparing(c -> c.transaction().getDate()));
+    /**
+     * Sorts the candidates by date and reports each one to the listener as valid or over the investment cap.
+     * @param chunks The number of chunks the execution policy split the batch into, or 1 to apply the cap on this
+     * thread.
+     */
+    private void applyInvestmentCap(List<FinalValidationInput> candidates, BigDecimal maxAmountToInvest,
+                                    ValidationListener listener, int chunks) {
+        long start = pipelineMetrics.start();
+        int overCap = 0;
+
+        // Sort candidates by date for chronological investment validation; input that is already in date order,
+        // the usual case for live feeds, is only scanned.
+        if (chunks > 1) {
+            executionPolicy.run(() -> ChronologicalOrder.sort(candidates, c -> c.transaction().getDate(), true));
+        } else {
+            ChronologicalOrder.sort(candidates, c -> c.transaction().getDate());
+        }
 
+        // The running total is kept in paise while the wage and every amount fit; the first value that
+        // doesn't switches the rest of the pass to BigDecimal.
+        long maxPaise = Money.toPaise(maxAmountToInvest);
+        boolean fixedPoint = maxPaise != Money.UNREPRESENTABLE;
+
+        boolean[] fitting = chunks > 1 && fixedPoint
+                ? capInParallel(i -> candidates.get(i).transaction().getAmountPaise(), candidates.size(), maxPaise, chunks)
+                : null;
+        if (fitting != null) {
+            for (int i = 0; i < fitting.length; i++) {
+                FinalValidationInput candidate = candidates.get(i);
+                if (fitting[i]) {
+                    listener.valid(candidate.transaction(), candidate.inKPeriod());
+                } else {
+                    overCap++;
+                    listener.invalid(candidate.transaction(), ERROR_INVESTMENT_EXCEEDS_CAP);
+                }
+            }
+            pipelineMetrics.invalid(PipelineMetrics.Reason.CAP, overCap);
+            pipelineMetrics.record(PipelineMetrics.Stage.CAP, start, candidates.size());
+            return;
+        }
+        long investedPaise = 0;
         BigDecimal investedAmount = BigDecimal.ZERO;
 
         for (FinalValidationInput candidate : candidates) {
             Transaction transaction = candidate.transaction();
-            if (maxAmountToInvest != null && investedAmount.add(transaction.getAmount()).compareTo(maxAmountToInvest) <= 0) {
-                validTransactions.add(transactionMapper.toValidDto(transaction, candidate.inKPeriod()));
-                investedAmount = investedAmount.add(transaction.getAmount());
+            long amountPaise = transaction.getAmountPaise();
+            if (fixedPoint && amountPaise == Money.UNREPRESENTABLE) {
+                fixedPoint = false;
+                investedAmount = Money.toBigDecimal(investedPaise, Money.SCALE);
+            }
+
+            boolean withinCap = fixedPoint
+                    ? investedPaise + amountPaise <= maxPaise
+                    : maxAmountToInvest != null && investedAmount.add(transaction.getAmount()).compareTo(maxAmountToInvest) <= 0;
+            if (withinCap) {
+                listener.valid(transaction, candidate.inKPeriod());
+                if (fixedPoint) {
+                    investedPaise += amountPaise;
+                } else {
+                    investedAmount = investedAmount.add(transaction.getAmount());
+                }
             } else {
-                invalidTransactions.add(transactionMapper.toInvalidDto(transaction, ERROR_INVESTMENT_EXCEEDS_CAP));
+                overCap++;
+                listener.invalid(transaction, ERROR_INVESTMENT_EXCEEDS_CAP);
             }
         }
 
-        return ValidatorResponse.builder()
-                .valid(validTransactions)
-                .invalid(invalidTransactions)
-                .build();
+        pipelineMetrics.invalid(PipelineMetrics.Reason.CAP, overCap);
+        pipelineMetrics.record(PipelineMetrics.Stage.CAP, start, candidates.size());
+    }
+
+    /** Keeps the exception of the first failed input, in input order, across the tasks of a parallel pass. */
+    private static final class FirstFailure {
+        private int position = Integer.MAX_VALUE;
+        private RuntimeException exception;
+
+        synchronized void record(int position, RuntimeException exception) {
+            if (position < this.position) {
+                this.position = position;
+                this.exception = exception;
+            }
+        }
+
+        synchronized void rethrow() {
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+    /** Keeps the accepted transactions themselves and drops the rejected ones. */
+    private static class ValidCollector implements ValidationListener {
+        private final List<Transaction> valid = new ArrayList<>();
+
+        @Override
+        public void valid(Transaction transaction, Boolean inKPeriod) {
+            valid.add(transaction);
+        }
+
+        @Override
+        public void invalid(Transaction transaction, String message) {
+        }
+    }
+
+    /** Buffers every verdict into the lists of a {@link ValidatorResponse}. */
+    private class ResponseCollector implements ValidationListener {
+        private final List<ValidTransactionDto> valid = new ArrayList<>();
+        private final List<InvalidTransactionDto> invalid = new ArrayList<>();
+
+        @Override
+        public void valid(Transaction transaction, Boolean inKPeriod) {
+            valid.add(transactionMapper.toValidDto(transaction, inKPeriod));
+        }
+
+        @Override
+        public void invalid(Transaction transaction, String message) {
+            invalid.add(transactionMapper.toInvalidDto(transaction, message));
+        }
+
+        ValidatorResponse toResponse() {
+            return ValidatorResponse.builder()
+                    .valid(valid)
+                    .invalid(invalid)
+                    .build();
+        }
     }
 }
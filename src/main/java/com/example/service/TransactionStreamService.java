@@ -0,0 +1,213 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponseItem;
+import com.example.engine.TransactionColumns;
+import com.example.mapper.TransactionMapper;
+import com.example.model.Transaction;
+import com.example.utility.ColumnarRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming counterparts of the {@link TransactionService} operations for very large request bodies.
+ * Records are read, processed and written one at a time, so memory use does not grow with the batch size.
+ */
+@Service
+public class TransactionStreamService {
+
+    // Largest number of expenses held at once while parsing a stream
+    private static final int MAX_PARSE_WINDOW = 8_192;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ParallelExecutionPolicy executionPolicy;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Reads a JSON array of expenses and writes the JSON array of parsed transactions. The output is identical to
+     * {@link TransactionService#parseExpenses} followed by {@link TransactionMapper#toResponseList}.
+     * <p>
+     * Expenses are parsed in windows of the execution policy's parallel threshold, capped at
+     * {@value #MAX_PARSE_WINDOW}, each through {@link TransactionService#parseExpenses}. Each window therefore takes
+     * the parallel path when the policy would, and is timed in the {@code parse} stage like a buffered request of
+     * that size, while memory stays bounded by the window.
+     * @param expenses The request body, a JSON array of {@link Expense}.
+     * @param transactions The response body, receiving a JSON array of {@link TransactionDto}.
+     */
+    public void parseExpenses(InputStream expenses, OutputStream transactions) {
+        int windowSize = Math.max(1, Math.min(executionPolicy.getThreshold(), MAX_PARSE_WINDOW));
+        List<Expense> window = new ArrayList<>(windowSize);
+        try (MappingIterator<Expense> reader = objectMapper.readerFor(Expense.class).readValues(expenses);
+             SequenceWriter writer = objectMapper.writerFor(TransactionDto.class).writeValuesAsArray(transactions)) {
+            while (reader.hasNextValue()) {
+                window.add(reader.nextValue());
+                if (window.size() == windowSize) {
+                    writeParsed(window, writer);
+                }
+            }
+            writeParsed(window, writer);
+        }
+    }
+
+    private void writeParsed(List<Expense> window, SequenceWriter writer) {
+        if (window.isEmpty()) {
+            return;
+        }
+        for (Transaction transaction : transactionService.parseExpenses(window)) {
+            writer.write(transactionMapper.toDto(transaction));
+        }
+        window.clear();
+    }
+
+    /**
+     * Runs {@link TransactionService#validate(ValidatorRequest)} and writes each verdict as one NDJSON line
+     * ({@code {"valid":{...}}} or {@code {"invalid":{...}}}) as soon as it is settled.
+     */
+    public void validate(ValidatorRequest validatorRequest, OutputStream results) {
+        try (NdjsonWriter writer = new NdjsonWriter(results)) {
+            transactionService.validate(validatorRequest, writer);
+        }
+    }
+
+    /**
+     * Runs {@link TransactionService#validateTemporalConstraints(ValidatorRequest)} and writes each verdict as one
+     * NDJSON line as soon as it is settled.
+     */
+    public void validateTemporalConstraints(ValidatorRequest validatorRequest, OutputStream results) {
+        try (NdjsonWriter writer = new NdjsonWriter(results)) {
+            transactionService.validateTemporalConstraints(validatorRequest, writer);
+        }
+    }
+
+    /**
+     * Columnar variant of {@link #validate(ValidatorRequest, OutputStream)} for very large requests. The request is
+     * read straight into a {@link TransactionColumns} batch, so each transaction DTO lives only while it is read,
+     * and DTOs are built again one at a time as the NDJSON lines are written. The output is identical.
+     * @param request The request body, a {@link ValidatorRequest}.
+     * @throws ColumnarRequestException If the body is not an object, its transactions are not an array, or a
+     * transaction does not fit in columns.
+     */
+    public void validateColumnar(InputStream request, OutputStream results) {
+        ColumnarRequest columnar = readColumnar(request);
+        writeColumnar(columnar.columns(), transactionService.validate(columnar.columns(), columnar.header().getWage()), results);
+    }
+
+    /**
+     * Columnar variant of {@link #validateTemporalConstraints(ValidatorRequest, OutputStream)}; see
+     * {@link #validateColumnar}.
+     * @throws ColumnarRequestException If a transaction, or a P or Q amount that applies, does not fit in columns.
+     */
+    public void validateTemporalConstraintsColumnar(InputStream request, OutputStream results) {
+        ColumnarRequest columnar = readColumnar(request);
+        ValidatorRequest header = columnar.header();
+        writeColumnar(columnar.columns(), transactionService.validateTemporalConstraints(columnar.columns(),
+                header.getWage(), header.getP(), header.getQ(), header.getK()), results);
+    }
+
+    /** A request whose transactions are in columns; the header holds everything else. */
+    private record ColumnarRequest(ValidatorRequest header, TransactionColumns columns) {}
+
+    private ColumnarRequest readColumnar(InputStream request) {
+        ValidatorRequest header = new ValidatorRequest();
+        TransactionColumns columns = new TransactionColumns(0);
+        // Each value is bound from the middle of the request, so the rest of the object must not count as trailing.
+        ObjectReader reader = objectMapper.reader().without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        ObjectReader transactionReader = reader.forType(TransactionDto.class);
+        try (JsonParser parser = objectMapper.createParser(request)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ColumnarRequestException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "transactions" -> {
+                        if (value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                transactionService.addTo(columns, transactionReader.readValue(parser));
+                            }
+                        } else if (value != JsonToken.VALUE_NULL) {
+                            throw new ColumnarRequestException("Expected transactions to be a JSON array");
+                        }
+                    }
+                    case "wage" -> header.setWage(reader.forType(BigDecimal.class).readValue(parser));
+                    case "p" -> header.setP(reader.forType(new TypeReference<List<PConstraint>>() {}).readValue(parser));
+                    case "q" -> header.setQ(reader.forType(new TypeReference<List<QConstraint>>() {}).readValue(parser));
+                    case "k" -> header.setK(reader.forType(new TypeReference<List<KConstraint>>() {}).readValue(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new ColumnarRequest(header, columns);
+    }
+
+    private void writeColumnar(TransactionColumns columns, int[] settled, OutputStream results) {
+        try (NdjsonWriter writer = new NdjsonWriter(results)) {
+            for (int row : settled) {
+                writer.write(columns.verdict(row) == TransactionColumns.VALID
+                        ? ValidatorResponseItem.builder().valid(transactionService.toValidDto(columns, row)).build()
+                        : ValidatorResponseItem.builder().invalid(transactionService.toInvalidDto(columns, row)).build());
+            }
+        }
+    }
+
+    /**
+     * Serializes each verdict on its own line. Output goes through the generator's buffer, so the client
+     * receives records in chunks as the buffer fills rather than one network write per record.
+     */
+    private class NdjsonWriter implements ValidationListener, AutoCloseable {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) {
+            this.generator = objectMapper.writer().withRootValueSeparator("").createGenerator(out);
+        }
+
+        @Override
+        public void valid(Transaction transaction, Boolean inKPeriod) {
+            write(ValidatorResponseItem.builder().valid(transactionMapper.toValidDto(transaction, inKPeriod)).build());
+        }
+
+        @Override
+        public void invalid(Transaction transaction, String message) {
+            write(ValidatorResponseItem.builder().invalid(transactionMapper.toInvalidDto(transaction, message)).build());
+        }
+
+        private void write(ValidatorResponseItem item) {
+            generator.writePOJO(item);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.service;
+
+import com.example.model.Transaction;
+
+/**
+ * Receives the verdict for each transaction as soon as the validation pipeline has settled it.
+ * <p>
+ * Invalid transactions are reported in the same order as the {@code invalid} list of a buffered
+ * {@link com.example.dto.ValidatorResponse} (duplicates, then negatives, then cap rejections), and valid ones
+ * in chronological order, so a listener can stream results without changing what a client sees.
+ */
+public interface ValidationListener {
+
+    /**
+     * @param transaction The accepted transaction, with any temporal rules applied.
+     * @param inKPeriod Whether it falls in a K period, or {@code null} when K periods were not evaluated.
+     */
+    void valid(Transaction transaction, Boolean inKPeriod);
+
+    /**
+     * @param transaction The rejected transaction.
+     * @param message The reason it was rejected.
+     */
+    void invalid(Transaction transaction, String message);
+}
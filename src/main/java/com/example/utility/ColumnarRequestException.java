@@ -0,0 +1,12 @@
+package com.example.utility;
+
+/**
+ * Thrown when a request cannot be validated in columns: its body is not shaped as expected, or a transaction or a
+ * P or Q amount that applies does not fit the columns. The message says which, and is safe to show the client.
+ */
+public class ColumnarRequestException extends IllegalArgumentException {
+
+    public ColumnarRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example;
+
+import com.example.dto.BulkValidationSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the command-line entry point in its own non-web context, so that a bean only the web context provides
+ * cannot break it unnoticed.
+ */
+class BulkValidationApplicationTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	@DisplayName("The bulk command should start without a web context and write both outputs and the summary")
+	void run_nonWebContext_writesOutputsAndSummary() throws IOException {
+		Path input = Files.writeString(directory.resolve("expenses.csv"), """
+				date,amount
+				2023-10-12 20:15:30,250.5
+				2023-10-12 20:15:30,250.5
+				2023-10-13 10:00:00,100
+				2023-10-14 10:00:00,-5
+				2023-10-15 10:00:00,700
+				""");
+		Path rules = Files.writeString(directory.resolve("rules.json"), """
+				{"wage": 500, "p": [], "q": [], "k": [{"start": "2023-01-01 00:00:00", "end": "2023-12-31 23:59:59"}]}
+				""");
+		Path valid = directory.resolve("valid.csv");
+		Path invalid = directory.resolve("invalid.csv");
+
+		BulkValidationSummary summary = BulkValidationApplication.run("--bulk.input=" + input, "--bulk.rules=" + rules,
+				"--bulk.valid-output=" + valid, "--bulk.invalid-output=" + invalid);
+
+		assertEquals(5, summary.getExpenses());
+		assertEquals(2, summary.getValid());
+		assertEquals(1, summary.getDuplicates());
+		assertEquals(1, summary.getNegatives());
+		assertEquals(1, summary.getOverCap());
+		assertEquals(List.of(
+				"date,amount,ceiling,remanent,inKPeriod",
+				"2023-10-12 20:15:30,250.5,300.0,49.5,true",
+				"2023-10-13 10:00:00,100,100.0,0.0,true"), Files.readAllLines(valid));
+		assertEquals(List.of(
+				"date,amount,ceiling,remanent,message",
+				"2023-10-12 20:15:30,250.5,300.0,49.5,Duplicate transaction",
+				"2023-10-14 10:00:00,-5,0.0,5.0,Negative amounts are not allowed",
+				"2023-10-15 10:00:00,700,700.0,0.0,Investment exceeds maximum allowed amount"), Files.readAllLines(invalid));
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.example.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvDatesTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss");
+
+    @Test
+    @DisplayName("put and parse should agree with LocalDateTime across years 0 to 9999, including leap days")
+    void putAndParse_matchLocalDateTime() {
+        LocalDateTime first = LocalDateTime.of(0, 1, 1, 0, 0, 0);
+        LocalDateTime last = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+        long step = 86_400L * 7 + 3_601;
+        for (long second = first.toEpochSecond(ZoneOffset.UTC); second <= last.toEpochSecond(ZoneOffset.UTC); second += step) {
+            assertRoundTrip(LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC));
+        }
+        for (String date : new String[]{"0000-02-29 12:00:00", "1900-02-28 23:59:59", "1900-03-01 00:00:00",
+                "2000-02-29 00:00:00", "2024-02-29 06:30:00", "1969-12-31 23:59:59", "9999-12-31 23:59:59"}) {
+            assertRoundTrip(LocalDateTime.parse(date, FORMAT));
+        }
+    }
+
+    @Test
+    @DisplayName("parse should reject impossible dates and misplaced separators")
+    void parse_invalidDates_rejected() {
+        for (String date : new String[]{"2023-02-29 00:00:00", "1900-02-29 00:00:00", "2023-13-01 00:00:00",
+                "2023-04-31 00:00:00", "2023-00-10 00:00:00", "2023-01-10 24:00:00", "2023-01-10 10:60:00",
+                "2023-01-10T10:00:00", "2023/01/10 10:00:00", "2023-01-1a 10:00:00"}) {
+            assertEquals(Long.MIN_VALUE, CsvDates.parse(ByteBuffer.wrap(date.getBytes(StandardCharsets.US_ASCII)), 0), date);
+        }
+    }
+
+    @Test
+    @DisplayName("put should reject dates after year 9999")
+    void put_yearTenThousand_rejected() {
+        long second = LocalDateTime.of(10_000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+        assertThrows(IllegalArgumentException.class, () -> CsvDates.put(ByteBuffer.allocate(32), second));
+    }
+
+    private static void assertRoundTrip(LocalDateTime date) {
+        long second = date.toEpochSecond(ZoneOffset.UTC);
+        ByteBuffer buffer = ByteBuffer.allocate(CsvDates.LENGTH);
+        CsvDates.put(buffer, second);
+
+        assertEquals(date.format(FORMAT), new String(buffer.array(), StandardCharsets.US_ASCII));
+        assertEquals(second, CsvDates.parse(buffer, 0), date.toString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseCsvReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("read should skip the header and blank lines and accept CRLF endings and a missing final newline")
+    void read_headerBlankLinesAndCrlf_parsed() throws IOException {
+        Path file = write("date,amount\r\n2023-10-12 20:15:30,250\r\n\r\n2023-10-13 08:00:00,-0.05\n2023-10-14 09:30:00,+1375.5");
+
+        List<String> expenses = read(file, 1 << 20);
+
+        assertEquals(List.of(
+                second(2023, 10, 12, 20, 15, 30) + " 25000 0",
+                second(2023, 10, 13, 8, 0, 0) + " -5 2",
+                second(2023, 10, 14, 9, 30, 0) + " 137550 1"), expenses);
+    }
+
+    @Test
+    @DisplayName("read should give the same rows whatever the mapping window, including lines split across windows")
+    void read_smallWindows_matchesSingleWindow() throws IOException {
+        StringBuilder csv = new StringBuilder("date,amount\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(String.format("2023-%02d-%02d 10:%02d:00,%d.%d\n", i % 12 + 1, i % 28 + 1, i % 60, i * 37, i % 10));
+        }
+        Path file = write(csv.toString());
+
+        List<String> expected = read(file, 1 << 20);
+        assertEquals(500, expected.size());
+        for (int window : new int[]{28, 29, 31, 64, 1000}) {
+            assertEquals(expected, read(file, window), "window " + window);
+        }
+    }
+
+    @Test
+    @DisplayName("read should name the line of a malformed expense")
+    void read_malformedLines_reportLineNumber() throws IOException {
+        for (String line : new String[]{"2023-10-12 20:15:30,1.005", "2023-10-12 20:15:30,12a", "2023-10-12 20:15:30,",
+                "2023-10-12 20:15:30;5", "2023-02-30 20:15:30,5", "2023-10-12 20:15:30,1234567890123456"}) {
+            Path file = write("date,amount\n2023-10-12 20:15:30,5\n" + line + "\n");
+
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> read(file, 1 << 20), line);
+            assertTrue(error.getMessage().startsWith("Line 3 "), error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("read should reject a line longer than the mapping window")
+    void read_lineLongerThanWindow_rejected() throws IOException {
+        Path file = write("2023-10-12 20:15:30,5\n2023-10-12 20:15:31,0000000000000000000000000000000000005\n");
+
+        assertThrows(IllegalArgumentException.class, () -> read(file, 30));
+    }
+
+    private Path write(String csv) throws IOException {
+        Path file = Files.createTempFile(directory, "expenses", ".csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    private static List<String> read(Path file, long window) throws IOException {
+        List<String> expenses = new ArrayList<>();
+        new ExpenseCsvReader(window).read(file, (second, paise, scale) -> expenses.add(second + " " + paise + " " + scale));
+        return expenses;
+    }
+
+    private static long second(int year, int month, int day, int hour, int minute, int second) {
+        return LocalDateTime.of(year, month, day, hour, minute, second).toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.config;
+
+import com.example.dto.Expense;
+import com.example.dto.Savings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonDateConfigTest {
+
+    private final ObjectMapper standard = JsonMapper.builder().build();
+    private final ObjectMapper fast = JsonMapper.builder().addModule(JsonDateConfig.fastDatesModule()).build();
+
+    @Test
+    @DisplayName("Dates should be read as the formatter reads them, including those it adjusts or trims")
+    void readValue_commonAndFallbackDates_matchFormatter() {
+        for (String date : new String[]{"2023-10-12 20:15:30", "2024-02-29 00:00:00", "2023-02-30 10:00:00",
+                " 2023-10-12 20:15:30 ", "0001-01-01 00:00:00"}) {
+            String json = "{\"amount\": 250, \"date\": \"" + date + "\"}";
+
+            assertEquals(standard.readValue(json, Expense.class), fast.readValue(json, Expense.class), date);
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed dates should still be rejected")
+    void readValue_malformedDate_rejected() {
+        for (String date : new String[]{"2023-10-12T20:15:30", "2023-13-12 20:15:30", "yesterday"}) {
+            String json = "{\"amount\": 250, \"date\": \"" + date + "\"}";
+
+            assertThrows(JacksonException.class, () -> standard.readValue(json, Expense.class), date);
+            assertThrows(JacksonException.class, () -> fast.readValue(json, Expense.class), date);
+        }
+    }
+
+    @Test
+    @DisplayName("Dates should be written exactly as the formatter writes them, and unannotated dates left to Jackson")
+    void writeValue_annotatedAndPlainDates_matchFormatter() {
+        List<Object> values = List.of(
+                Expense.builder().amount(BigDecimal.TEN).date(LocalDateTime.of(2023, 10, 12, 20, 15, 30, 500)).build(),
+                Expense.builder().amount(BigDecimal.TEN).date(LocalDateTime.of(12_345, 1, 1, 0, 0)).build(),
+                Savings.builder().start(LocalDateTime.of(2023, 1, 1, 0, 0)).end(LocalDateTime.of(2023, 12, 31, 23, 59, 59)).build(),
+                Map.of("plain", LocalDateTime.of(2023, 1, 1, 8, 30)));
+
+        for (Object value : values) {
+            assertEquals(standard.writeValueAsString(value), fast.writeValueAsString(value));
+        }
+    }
+}
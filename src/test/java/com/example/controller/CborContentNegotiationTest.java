@@ -0,0 +1,155 @@
+package com.example.controller;
+
+import com.example.domain.ReturnType;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.service.ReturnService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CborContentNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    private static final String FILTER_REQUEST = """
+            {"wage": 1000,
+             "transactions": [{"amount": 250, "date": "2023-10-12 20:15:30", "ceiling": 300.0, "remanent": 50.0},
+                              {"amount": 375.25, "date": "2023-10-20 10:00:00", "ceiling": 400.0, "remanent": 24.75},
+                              {"amount": -20, "date": "2023-10-21 10:00:00", "ceiling": 0.0, "remanent": 20.0}],
+             "p": [{"start": "2023-10-01 00:00:00", "end": "2023-10-31 23:59:59", "extra": 25}],
+             "q": [],
+             "k": [{"start": "2023-01-01 00:00:00", "end": "2023-12-31 23:59:59"}]}
+            """;
+
+    private static final String RETURN_REQUEST = """
+            {"age": 35, "inflation": 6, "wage": 900000,
+             "transactions": [{"amount": 250, "date": "2023-10-12 20:15:30"}, {"amount": 375, "date": "2023-10-20 10:00:00"}],
+             "p": [{"start": "2023-10-01 00:00:00", "end": "2023-10-31 23:59:59", "extra": 25}],
+             "q": [],
+             "k": [{"start": "2023-01-01 00:00:00", "end": "2023-12-31 23:59:59"}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Autowired
+    private ReturnService returnService;
+
+    @Test
+    @DisplayName("A CBOR filter request should get the JSON response's values, with dates as epoch seconds")
+    void filter_cborRequestAndResponse_matchesJson() throws Exception {
+        ValidatorRequest request = objectMapper.readValue(FILTER_REQUEST, ValidatorRequest.class);
+        byte[] json = mockMvc.perform(post("/transactions:filter").contentType(MediaType.APPLICATION_JSON).content(FILTER_REQUEST))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] cbor = mockMvc.perform(post("/transactions:filter").contentType(CBOR).accept(CBOR).content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode expected = objectMapper.readTree(json);
+        JsonNode actual = cborMapper.readTree(cbor);
+        assertEquals(objectMapper.readerForListOf(ValidTransactionDto.class).<List<ValidTransactionDto>>readValue(expected.get("valid")),
+                cborMapper.readerForListOf(ValidTransactionDto.class).readValue(actual.get("valid")));
+        assertEquals(objectMapper.readerForListOf(InvalidTransactionDto.class).<List<InvalidTransactionDto>>readValue(expected.get("invalid")),
+                cborMapper.readerForListOf(InvalidTransactionDto.class).readValue(actual.get("invalid")));
+        JsonNode first = actual.get("valid").get(0);
+        assertTrue(first.get("date").isIntegralNumber());
+        assertEquals(LocalDateTime.of(2023, 10, 12, 20, 15, 30).toEpochSecond(ZoneOffset.UTC), first.get("date").asLong());
+        assertEquals(new BigDecimal("75.0"), first.get("remanent").decimalValue());
+        assertTrue(cbor.length < json.length, cbor.length + " CBOR bytes against " + json.length + " JSON bytes");
+    }
+
+    @Test
+    @DisplayName("A CBOR returns request should get the service's results, with savings periods as epoch seconds")
+    void returnsAll_cborRequestAndResponse_matchesService() throws Exception {
+        ReturnRequest request = objectMapper.readValue(RETURN_REQUEST, ReturnRequest.class);
+
+        byte[] cbor = mockMvc.perform(post("/returns:all").contentType(CBOR).accept(CBOR).content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode actual = cborMapper.readTree(cbor);
+        assertEquals(cborMapper.readTree(cborMapper.writeValueAsBytes(returnService.returns(request, EnumSet.allOf(ReturnType.class)))), actual);
+        assertTrue(actual.get("NPS").get("savingsByDates").get(0).get("start").isIntegralNumber());
+    }
+
+    @Test
+    @DisplayName("A JSON response's ETag should not give a CBOR client 304, and both representations should vary by Accept")
+    void returnsNps_jsonETagWithCborAccept_notModifiedOnlyForSameRepresentation() throws Exception {
+        String jsonETag = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(RETURN_REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        byte[] cbor = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(RETURN_REQUEST)
+                        .accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        String cborETag = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(RETURN_REQUEST)
+                        .accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(jsonETag, cborETag);
+        assertTrue(cborMapper.readTree(cbor).has("savingsByDates"));
+        mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(RETURN_REQUEST)
+                        .accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cborETag));
+        mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(RETURN_REQUEST)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("CBOR dates may also be sent as yyyy-MM-dd HH:mm:ss strings")
+    void filter_cborStringDates_accepted() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(objectMapper.readTree(FILTER_REQUEST));
+
+        byte[] cbor = mockMvc.perform(post("/transactions:filter").contentType(CBOR).accept(CBOR).content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(2, cborMapper.readTree(cbor).get("valid").size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "autosave.metrics.sample-every=1")
+@AutoConfigureMockMvc
+class PerformanceControllerTest {
+
+    private static final String EXPENSES = """
+            [{"amount": 250, "date": "2023-10-12 20:15:30"}, {"amount": 375, "date": "2023-10-20 10:00:00"}]
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("/performance should report JVM, stage and endpoint metrics alongside the formatted uptime and memory")
+    void getPerformanceMetrics_afterRequests_reportsStagesAndEndpoints() throws Exception {
+        mockMvc.perform(post("/transactions:parse").contentType(MediaType.APPLICATION_JSON).content(EXPENSES))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/performance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.time").isString())
+                .andExpect(jsonPath("$.memory").isString())
+                .andExpect(jsonPath("$.threads", greaterThan(0)))
+                .andExpect(jsonPath("$.heapUsedBytes", greaterThan(0)))
+                .andExpect(jsonPath("$.nonHeapUsedBytes", greaterThan(0)))
+                .andExpect(jsonPath("$.gcPauses", greaterThanOrEqualTo(0)))
+                .andExpect(jsonPath("$.stages.parse.count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.endpoints['POST /transactions:parse'].count", greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    @DisplayName("The compact variant should return the metrics as numbers without the formatted strings")
+    void getCompactPerformanceMetrics_omitsFormattedFields() throws Exception {
+        mockMvc.perform(get("/performance").param("compact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.time").doesNotExist())
+                .andExpect(jsonPath("$.memory").doesNotExist())
+                .andExpect(jsonPath("$.uptimeMillis").isNumber())
+                .andExpect(jsonPath("$.heapUsedBytes").isNumber())
+                .andExpect(jsonPath("$.threads").isNumber());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReturnControllerCacheTest {
+
+    private static final String REQUEST = """
+            {"age": 29, "inflation": 5.5, "wage": 600000,
+             "transactions": [{"amount": 250, "date": "2023-10-12 20:15:30"}, {"amount": 375, "date": "2023-10-20 10:00:00"}],
+             "p": [{"start": "2023-10-01 00:00:00", "end": "2023-10-31 23:59:59", "extra": 25}],
+             "q": [],
+             "k": [{"start": "2023-01-01 00:00:00", "end": "2023-12-31 23:59:59"}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Repeated returns requests should be served from the cache with a stable ETag, and If-None-Match should give 304")
+    void returns_repeatedRequest_cachedAndConditional() throws Exception {
+        // The context, and with it the cache, is shared with other tests
+        double hits = cacheHits();
+        String first = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String eTag = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(REQUEST.replace(", ", ",").replace(": ", ":")))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(hits + 1, cacheHits());
+
+        mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON).content(REQUEST)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        String indexETag = mockMvc.perform(post("/returns:index").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String rescaledETag = mockMvc.perform(post("/returns:nps").contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST.replace("\"amount\": 250,", "\"amount\": 250.0,")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, indexETag);
+        assertNotEquals(eTag, rescaledETag);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "returns").tag("result", "hit").functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("The caches actuator endpoint should not be exposed, so anonymous clients cannot evict the cache")
+    void actuatorCaches_notExposed() throws Exception {
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/actuator/caches/returns"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionControllerColumnarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A columnar request with an amount that has three decimal places should get 400 naming the transaction")
+    void filterColumnar_threeDecimalAmount_badRequest() throws Exception {
+        String request = """
+                {"wage": 1000,
+                 "transactions": [{"amount": 250, "date": "2023-10-12 20:15:30"}, {"amount": 375.125, "date": "2023-10-20 10:00:00"}],
+                 "p": [], "q": [], "k": []}
+                """;
+
+        mockMvc.perform(post("/transactions:filter").param("columnar", "true").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail", startsWith("Transaction 1 cannot be validated in columns")));
+    }
+
+    @Test
+    @DisplayName("A columnar request whose transactions are an object should get 400")
+    void validatorColumnar_transactionsObject_badRequest() throws Exception {
+        mockMvc.perform(post("/transactions:validator").param("columnar", "true").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\": {\"wage\": 1}, \"wage\": 1000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Expected transactions to be a JSON array"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.controller;
+
+import com.example.dto.ValidatorRequest;
+import com.example.service.TransactionService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionControllerErrorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("An IllegalArgumentException from a buffered endpoint should not be turned into a 400 that shows its message")
+    void validator_illegalArgument_notMappedToBadRequest() {
+        when(transactionService.validate(any(ValidatorRequest.class))).thenThrow(new IllegalArgumentException("internal detail"));
+
+        ServletException exception = assertThrows(ServletException.class, () -> mockMvc.perform(post("/transactions:validator")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"wage\": 1000, \"transactions\": []}")));
+
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+}
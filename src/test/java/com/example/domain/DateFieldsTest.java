@@ -0,0 +1,53 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateFieldsTest {
+
+    @Test
+    @DisplayName("isLeapYear and lengthOfMonth should agree with the ISO calendar across years 0 to 9999")
+    void lengthOfMonth_matchesYearMonth() {
+        for (int year = 0; year <= 9999; year++) {
+            assertEquals(Year.isLeap(year), DateFields.isLeapYear(year), String.valueOf(year));
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(YearMonth.of(year, month).lengthOfMonth(), DateFields.lengthOfMonth(year, month), year + "-" + month);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("isValid should accept the last second of a leap day and reject any field out of range")
+    void isValid_fieldsOutOfRange_rejected() {
+        assertTrue(DateFields.isValid(2024, 2, 29, 23, 59, 59));
+        assertTrue(DateFields.isValid(0, 1, 1, 0, 0, 0));
+
+        assertFalse(DateFields.isValid(-1, 1, 1, 0, 0, 0));
+        assertFalse(DateFields.isValid(2023, 2, 29, 0, 0, 0));
+        assertFalse(DateFields.isValid(2023, 13, 1, 0, 0, 0));
+        assertFalse(DateFields.isValid(2023, 4, 0, 0, 0, 0));
+        assertFalse(DateFields.isValid(2023, 4, 1, 24, 0, 0));
+        assertFalse(DateFields.isValid(2023, 4, 1, 0, 60, 0));
+        assertFalse(DateFields.isValid(2023, 4, 1, 0, 0, -1));
+    }
+
+    @Test
+    @DisplayName("digits should read characters and bytes alike and give -1 for any non-digit")
+    void digits_charsAndBytes_sameValue() {
+        for (String text : new String[]{"0000", "0042", "2024", "9999", "20a4", "-123", "12 4", "/999", ":999"}) {
+            int expected = text.chars().allMatch(c -> c >= '0' && c <= '9') ? Integer.parseInt(text) : -1;
+
+            assertEquals(expected, DateFields.digits(text.toCharArray(), 0, 4), text);
+            assertEquals(expected, DateFields.digits(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), 0, 4), text);
+        }
+    }
+}
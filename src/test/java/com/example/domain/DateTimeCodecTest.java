@@ -0,0 +1,63 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DateTimeCodecTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DateTimeCodec.PATTERN);
+
+    @Test
+    @DisplayName("parse and format should agree with the formatter across years 1 to 9999")
+    void parseAndFormat_matchFormatter() {
+        long first = LocalDateTime.of(1, 1, 1, 0, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long last = LocalDateTime.of(9999, 12, 31, 23, 59, 59).toEpochSecond(ZoneOffset.UTC);
+        for (long second = first; second <= last; second += 86_400L * 11 + 3_671) {
+            LocalDateTime date = LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+            String text = date.format(FORMATTER);
+
+            char[] formatted = new char[DateTimeCodec.LENGTH];
+            DateTimeCodec.format(date, formatted, 0);
+            assertEquals(text, new String(formatted));
+            assertEquals(LocalDateTime.parse(text, FORMATTER), DateTimeCodec.parse(text.toCharArray(), 0, text.length()), text);
+        }
+    }
+
+    @Test
+    @DisplayName("format should drop fractions of a second, as the formatter does")
+    void format_fractionalSecond_dropped() {
+        LocalDateTime date = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999);
+        char[] formatted = new char[DateTimeCodec.LENGTH];
+
+        DateTimeCodec.format(date, formatted, 0);
+
+        assertEquals("2024-02-29 23:59:59", new String(formatted));
+    }
+
+    @Test
+    @DisplayName("parse should leave adjusted, out-of-range and malformed dates to the formatter")
+    void parse_uncommonText_notHandled() {
+        for (String text : new String[]{"2023-02-30 10:00:00", "2023-04-31 10:00:00", "0000-01-01 00:00:00",
+                "2023-13-01 00:00:00", "2023-01-01 24:00:00", "2023-01-01T10:00:00", " 2023-01-01 10:00:00",
+                "2023-01-01 10:00", "2023-01-0a 10:00:00", "12023-01-01 10:00:00"}) {
+            assertNull(DateTimeCodec.parse(text.toCharArray(), 0, text.length()), text);
+        }
+    }
+
+    @Test
+    @DisplayName("format should refuse years the pattern writes differently")
+    void format_yearOutsideRange_notHandled() {
+        char[] formatted = new char[DateTimeCodec.LENGTH];
+
+        assertFalse(DateTimeCodec.format(LocalDateTime.of(0, 1, 1, 0, 0), formatted, 0));
+        assertFalse(DateTimeCodec.format(LocalDateTime.of(10_000, 1, 1, 0, 0), formatted, 0));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneyTest {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100.0");
+
+    @Test
+    @DisplayName("toPaise should convert amounts with up to two decimal places")
+    void toPaise_representableAmounts_converted() {
+        assertEquals(25000L, Money.toPaise(new BigDecimal("250")));
+        assertEquals(25050L, Money.toPaise(new BigDecimal("250.5")));
+        assertEquals(-1L, Money.toPaise(new BigDecimal("-0.01")));
+        assertEquals(10000L, Money.toPaise(new BigDecimal("1E+2")));
+    }
+
+    @Test
+    @DisplayName("toPaise should flag null, sub-paisa and oversized amounts as unrepresentable")
+    void toPaise_unrepresentableAmounts_flagged() {
+        assertEquals(Money.UNREPRESENTABLE, Money.toPaise(null));
+        assertEquals(Money.UNREPRESENTABLE, Money.toPaise(new BigDecimal("1.001")));
+        assertEquals(Money.UNREPRESENTABLE, Money.toPaise(new BigDecimal("1234567890123456")));
+    }
+
+    @Test
+    @DisplayName("roundUpToHundred should match BigDecimal ceiling division for positive and negative amounts")
+    void roundUpToHundred_matchesBigDecimalCeiling() {
+        for (String amount : new String[]{"0", "0.01", "99.99", "100", "100.01", "250", "-0.5", "-100", "-150.75"}) {
+            BigDecimal value = new BigDecimal(amount);
+            BigDecimal expected = value.divide(HUNDRED, 0, RoundingMode.CEILING).multiply(HUNDRED);
+            assertEquals(expected, Money.toBigDecimal(Money.roundUpToHundred(Money.toPaise(value)), 1), amount);
+        }
+    }
+
+    @Test
+    @DisplayName("toBigDecimal should produce exactly the requested scale")
+    void toBigDecimal_requestedScale_preserved() {
+        assertEquals(new BigDecimal("50.0"), Money.toBigDecimal(5000L, 1));
+        assertEquals(new BigDecimal("49.75"), Money.toBigDecimal(4975L, 2));
+        assertEquals(new BigDecimal("300"), Money.toBigDecimal(30000L, 0));
+    }
+}
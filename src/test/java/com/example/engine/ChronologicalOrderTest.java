@@ -0,0 +1,142 @@
+package com.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChronologicalOrderTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    private record Item(int id, LocalDateTime date) {}
+
+    @Test
+    @DisplayName("sort should leave input that is already in date order untouched")
+    void sort_alreadySorted_untouched() {
+        List<Item> items = new ArrayList<>(List.of(
+                new Item(0, BASE), new Item(1, BASE), new Item(2, BASE.plusSeconds(1)), new Item(3, BASE.plusDays(3))));
+        List<Item> expected = new ArrayList<>(items);
+
+        assertFalse(ChronologicalOrder.sort(items, Item::date));
+        for (int i = 0; i < items.size(); i++) {
+            assertSame(expected.get(i), items.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("sort should match a stable comparator sort for shuffled input with repeated dates")
+    void sort_shuffledWithTies_matchesStableSort() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            List<Item> items = new ArrayList<>();
+            int size = 1 + random.nextInt(500);
+            for (int i = 0; i < size; i++) {
+                items.add(new Item(i, BASE.plusSeconds(random.nextInt(size) * 3_600L - 86_400L * 400)));
+            }
+            Collections.shuffle(items, random);
+            List<Item> expected = new ArrayList<>(items);
+            expected.sort(Comparator.comparing(Item::date));
+
+            ChronologicalOrder.sort(items, Item::date);
+
+            assertEquals(expected, items);
+        }
+    }
+
+    @Test
+    @DisplayName("sort should fall back to a comparator sort for fractional seconds and very wide spans")
+    void sort_fractionalSecondsOrWideSpan_sortedStably() {
+        List<Item> fractional = new ArrayList<>(List.of(
+                new Item(0, BASE.plusNanos(500)), new Item(1, BASE), new Item(2, BASE.plusNanos(500)), new Item(3, BASE.minusNanos(1))));
+        assertTrue(ChronologicalOrder.sort(fractional, Item::date));
+        assertEquals(List.of(3, 1, 0, 2), fractional.stream().map(Item::id).toList());
+
+        // Enough items that the span times the count no longer fits in a long
+        List<Item> wide = new ArrayList<>(List.of(new Item(0, LocalDateTime.MAX.withNano(0)), new Item(1, LocalDateTime.MIN)));
+        for (int i = 2; i < 200; i++) {
+            wide.add(new Item(i, BASE.plusSeconds(200 - i)));
+        }
+        List<Item> expected = new ArrayList<>(wide);
+        expected.sort(Comparator.comparing(Item::date));
+        assertTrue(ChronologicalOrder.sort(wide, Item::date));
+        assertEquals(expected, wide);
+        assertEquals(1, wide.get(0).id());
+        assertEquals(0, wide.get(199).id());
+    }
+
+    @Test
+    @DisplayName("Row-number sort should match a stable sort of the rows by epoch second")
+    void sortRows_shuffled_matchesStableSort() {
+        Random random = new Random(5);
+        long[] seconds = new long[400];
+        for (int row = 0; row < seconds.length; row++) {
+            seconds[row] = random.nextInt(150) * 60L;
+        }
+        int[] rows = new int[seconds.length + 10];
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < seconds.length; i++) {
+            rows[i] = (i * 7) % seconds.length;
+            expected.add(rows[i]);
+        }
+        expected.sort(Comparator.comparingLong(row -> seconds[row]));
+
+        assertTrue(ChronologicalOrder.sort(rows, seconds.length, row -> seconds[row]));
+        for (int i = 0; i < seconds.length; i++) {
+            assertEquals((int) expected.get(i), rows[i]);
+        }
+        assertFalse(ChronologicalOrder.sort(rows, seconds.length, row -> seconds[row]));
+    }
+
+    @Test
+    @DisplayName("Parallel sorts should give exactly the order of the sequential ones, on both the key and comparator paths")
+    void sortParallel_largeInput_matchesSequential() {
+        Random random = new Random(7);
+        // Above the size at which Arrays.parallelSort splits its work
+        int size = 20_000;
+        List<Item> whole = new ArrayList<>();
+        List<Item> fractional = new ArrayList<>();
+        long[] seconds = new long[size];
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            LocalDateTime date = BASE.plusSeconds(random.nextInt(size / 4) * 60L);
+            whole.add(new Item(i, date));
+            fractional.add(new Item(i, date.plusNanos(random.nextInt(3))));
+            seconds[i] = random.nextInt(size / 4);
+            rows[i] = size - 1 - i;
+        }
+        for (List<Item> items : List.of(whole, fractional)) {
+            List<Item> expected = new ArrayList<>(items);
+            ChronologicalOrder.sort(expected, Item::date);
+
+            assertTrue(ChronologicalOrder.sort(items, Item::date, true));
+
+            assertEquals(expected, items);
+        }
+        int[] expectedRows = rows.clone();
+        ChronologicalOrder.sort(expectedRows, size, row -> seconds[row]);
+        assertTrue(ChronologicalOrder.sort(rows, size, row -> seconds[row], true));
+        assertArrayEquals(expectedRows, rows);
+    }
+
+    @Test
+    @DisplayName("sort should reject a null date among several items, like a comparator sort")
+    void sort_nullDate_throws() {
+        List<Item> items = new ArrayList<>(List.of(new Item(0, BASE.plusDays(1)), new Item(1, null), new Item(2, BASE)));
+
+        assertThrows(NullPointerException.class, () -> ChronologicalOrder.sort(items, Item::date));
+        assertFalse(ChronologicalOrder.sort(new ArrayList<>(List.of(new Item(0, null))), Item::date));
+    }
+}
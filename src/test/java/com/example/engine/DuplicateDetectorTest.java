@@ -0,0 +1,78 @@
+package com.example.engine;
+
+import com.example.model.Transaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateDetectorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("add should treat amounts of different scale, different nanos and null fields like BigDecimal and LocalDateTime equality")
+    void add_edgeCaseKeys_followEquals() {
+        DuplicateDetector detector = new DuplicateDetector(4);
+
+        assertTrue(detector.add(tx("250", BASE)));
+        assertFalse(detector.add(tx("250", BASE)));
+        assertTrue(detector.add(tx("250.0", BASE)));
+        assertTrue(detector.add(tx("2.5E+2", BASE)));
+        assertTrue(detector.add(tx("250", BASE.plusNanos(1))));
+        assertTrue(detector.add(tx("250.001", BASE)));
+        assertFalse(detector.add(tx("250.001", BASE)));
+        assertTrue(detector.add(tx("1234567890123456", BASE)));
+        assertFalse(detector.add(tx("1234567890123456", BASE)));
+        assertTrue(detector.add(tx("250", null)));
+        assertFalse(detector.add(tx("250", null)));
+        assertTrue(detector.add(tx((BigDecimal) null, BASE)));
+        assertFalse(detector.add(tx((BigDecimal) null, BASE)));
+
+        assertEquals(8, detector.size());
+    }
+
+    @Test
+    @DisplayName("add should agree with a HashSet of (amount, date) keys while growing past its expected size")
+    void add_randomKeys_matchHashSet() {
+        record Key(BigDecimal amount, LocalDateTime date) {}
+        Random random = new Random(3);
+        Set<Key> seen = new HashSet<>();
+        DuplicateDetector detector = new DuplicateDetector(10);
+
+        for (int i = 0; i < 50_000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(2_000) - 100, random.nextInt(4));
+            LocalDateTime date = BASE.plusHours(random.nextInt(2_000));
+            assertEquals(seen.add(new Key(amount, date)), detector.add(tx(amount, date)), amount + " " + date);
+        }
+        assertEquals(seen.size(), detector.size());
+        assertTrue(detector.footprintBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("footprintBytes should count the key arrays and the probe table")
+    void footprintBytes_presized_countsArrays() {
+        DuplicateDetector detector = new DuplicateDetector(1_000);
+        List.of("1", "2", "3").forEach(amount -> detector.add(tx(amount, BASE)));
+
+        // 3 longs per entry for 1000 entries, plus a 2048-slot int table
+        assertEquals(3L * 8 * 1_000 + 4L * 2_048, detector.footprintBytes());
+    }
+
+    private static Transaction tx(String amount, LocalDateTime date) {
+        return tx(new BigDecimal(amount), date);
+    }
+
+    private static Transaction tx(BigDecimal amount, LocalDateTime date) {
+        return Transaction.builder().amount(amount).date(date).build();
+    }
+}
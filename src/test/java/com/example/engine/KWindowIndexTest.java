@@ -0,0 +1,62 @@
+package com.example.engine;
+
+import com.example.dto.KConstraint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class KWindowIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("containing should list every nested period covering a date, in request order")
+    void containing_nestedPeriods_allActiveInRequestOrder() {
+        int count = 1_000;
+        List<KConstraint> kPeriods = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            kPeriods.add(KConstraint.builder().start(BASE.plusHours(i)).end(BASE.plusHours(2L * count - 1 - i)).build());
+        }
+
+        KWindowIndex index = KWindowIndex.build(kPeriods);
+
+        assertEquals(0, index.containing(BASE.minusSeconds(1)).length);
+        assertArrayEquals(new int[]{0}, index.containing(BASE));
+        assertArrayEquals(IntStream.range(0, count).toArray(), index.containing(BASE.plusHours(count - 1)));
+        assertArrayEquals(IntStream.range(0, 500).toArray(), index.containing(BASE.plusHours(1_499).plusMinutes(30)));
+        assertEquals(0, index.containing(BASE.plusHours(2L * count)).length);
+        // Dates between the same two breakpoints share one array
+        assertSame(index.containing(BASE.plusMinutes(10)), index.containing(BASE.plusMinutes(50)));
+    }
+
+    @Test
+    @DisplayName("containing should match a scan of the periods for random overlapping periods, including shared endpoints")
+    void containing_randomOverlappingPeriods_matchesScan() {
+        Random random = new Random(17);
+        List<KConstraint> kPeriods = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = BASE.plusDays(random.nextInt(60));
+            // Some periods end before they start and must never match
+            kPeriods.add(KConstraint.builder().start(start).end(start.plusDays(random.nextInt(40) - 3)).build());
+        }
+
+        KWindowIndex index = KWindowIndex.build(kPeriods);
+
+        for (int hour = -24; hour < 24 * 110; hour += 6) {
+            LocalDateTime date = BASE.plusHours(hour);
+            int[] expected = IntStream.range(0, kPeriods.size())
+                    .filter(i -> !date.isBefore(kPeriods.get(i).getStart()) && !date.isAfter(kPeriods.get(i).getEnd()))
+                    .toArray();
+            assertArrayEquals(expected, index.containing(date), date.toString());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.engine;
+
+import com.example.dto.ValidTransactionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixSumIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("sumWithin should include both window bounds and return zero for empty or inverted windows")
+    void sumWithin_boundsAndEmptyWindows_handledCorrectly() {
+        List<ValidTransactionDto> transactions = List.of(
+                tx(BASE, "10"), tx(BASE.plusDays(1), "20"), tx(BASE.plusDays(1), "5.5"), tx(BASE.plusDays(2), "30"));
+
+        PrefixSumIndex index = PrefixSumIndex.of(transactions, ValidTransactionDto::getDate, ValidTransactionDto::getRemanent);
+
+        assertEquals(0, new BigDecimal("65.5").compareTo(index.sumWithin(BASE, BASE.plusDays(2))));
+        assertEquals(0, new BigDecimal("25.5").compareTo(index.sumWithin(BASE.plusDays(1), BASE.plusDays(1))));
+        assertEquals(BigDecimal.ZERO, index.sumWithin(BASE.plusDays(3), BASE.plusDays(4)));
+        assertEquals(BigDecimal.ZERO, index.sumWithin(BASE.plusDays(2), BASE));
+    }
+
+    @Test
+    @DisplayName("sumWithin should match a linear scan for unsorted input and random windows")
+    void sumWithin_randomWindows_matchLinearScan() {
+        Random random = new Random(7);
+        List<ValidTransactionDto> transactions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            transactions.add(tx(BASE.plusMinutes(random.nextInt(10_000)), BigDecimal.valueOf(random.nextInt(10_000), 2).toPlainString()));
+        }
+        Collections.shuffle(transactions, random);
+
+        PrefixSumIndex index = PrefixSumIndex.of(transactions, ValidTransactionDto::getDate, ValidTransactionDto::getRemanent);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(10_500) - 250);
+            LocalDateTime end = start.plusMinutes(random.nextInt(3_000));
+            BigDecimal expected = transactions.stream()
+                    .filter(tx -> !tx.getDate().isBefore(start) && !tx.getDate().isAfter(end))
+                    .map(ValidTransactionDto::getRemanent)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(0, expected.compareTo(index.sumWithin(start, end)), "window " + start + " - " + end);
+        }
+    }
+
+    private static ValidTransactionDto tx(LocalDateTime date, String remanent) {
+        return ValidTransactionDto.builder().date(date).remanent(new BigDecimal(remanent)).build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.engine;
+
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemporalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("Q override should pick the latest start, and the first listed period on equal starts")
+    void overrideFor_overlappingPeriods_picksLatestStartThenFirstListed() {
+        QConstraint early = QConstraint.builder().start(BASE).end(BASE.plusDays(10)).fixed(new BigDecimal("1")).build();
+        QConstraint late = QConstraint.builder().start(BASE.plusDays(2)).end(BASE.plusDays(5)).fixed(new BigDecimal("2")).build();
+        QConstraint lateTwin = QConstraint.builder().start(BASE.plusDays(2)).end(BASE.plusDays(8)).fixed(new BigDecimal("3")).build();
+
+        TemporalIndex index = TemporalIndex.build(null, Arrays.asList(early, late, lateTwin), null);
+
+        assertSame(early, index.overrideFor(BASE.plusDays(1)));
+        assertSame(late, index.overrideFor(BASE.plusDays(3)));
+        assertSame(lateTwin, index.overrideFor(BASE.plusDays(6)));
+        assertSame(early, index.overrideFor(BASE.plusDays(9)));
+        assertNull(index.overrideFor(BASE.plusDays(11)));
+    }
+
+    @Test
+    @DisplayName("P extras should be summed over every containing period, with inclusive bounds")
+    void extraFor_inclusiveBounds_sumsContainingPeriods() {
+        PConstraint p1 = PConstraint.builder().start(BASE).end(BASE.plusDays(5)).extra(new BigDecimal("25")).build();
+        PConstraint p2 = PConstraint.builder().start(BASE.plusDays(5)).end(BASE.plusDays(6)).extra(new BigDecimal("10.5")).build();
+
+        TemporalIndex index = TemporalIndex.build(Arrays.asList(p1, p2), null, null);
+
+        assertEquals(BigDecimal.ZERO, index.extraFor(BASE.minusSeconds(1)));
+        assertEquals(new BigDecimal("25"), index.extraFor(BASE));
+        assertEquals(new BigDecimal("35.5"), index.extraFor(BASE.plusDays(5)));
+        assertEquals(new BigDecimal("10.5"), index.extraFor(BASE.plusDays(6)));
+        assertEquals(BigDecimal.ZERO, index.extraFor(BASE.plusDays(6).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Periods whose start is after their end should never match")
+    void build_invertedPeriod_neverMatches() {
+        KConstraint inverted = KConstraint.builder().start(BASE.plusDays(1)).end(BASE).build();
+
+        TemporalIndex index = TemporalIndex.build(null, null, Collections.singletonList(inverted));
+
+        assertFalse(index.inKPeriod(BASE));
+        assertFalse(index.inKPeriod(BASE.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Indexed lookups should match a linear scan over randomly generated periods")
+    void lookups_randomPeriods_matchLinearScan() {
+        Random random = new Random(42);
+        List<PConstraint> p = new ArrayList<>();
+        List<QConstraint> q = new ArrayList<>();
+        List<KConstraint> k = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime start = BASE.plusHours(random.nextInt(500));
+            LocalDateTime end = start.plusHours(random.nextInt(100) - 10);
+            p.add(PConstraint.builder().start(start).end(end).extra(BigDecimal.valueOf(random.nextInt(5000), random.nextInt(3))).build());
+            q.add(QConstraint.builder().start(start.plusHours(3)).end(end).fixed(BigDecimal.valueOf(i)).build());
+            k.add(KConstraint.builder().start(end).end(end.plusHours(random.nextInt(50))).build());
+        }
+
+        TemporalIndex index = TemporalIndex.build(p, q, k);
+
+        for (int hour = -5; hour < 700; hour++) {
+            LocalDateTime date = BASE.plusHours(hour).plusSeconds(hour % 3 == 0 ? 0 : 1);
+
+            QConstraint expectedQ = q.stream()
+                    .filter(c -> within(date, c.getStart(), c.getEnd()))
+                    .max(Comparator.comparing(QConstraint::getStart))
+                    .orElse(null);
+            BigDecimal expectedExtra = p.stream()
+                    .filter(c -> within(date, c.getStart(), c.getEnd()))
+                    .map(PConstraint::getExtra)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            boolean expectedInK = k.stream().anyMatch(c -> within(date, c.getStart(), c.getEnd()));
+
+            assertSame(expectedQ, index.overrideFor(date), "Q at " + date);
+            assertEquals(expectedExtra, index.extraFor(date), "P at " + date);
+            assertEquals(expectedInK, index.inKPeriod(date), "K at " + date);
+        }
+    }
+
+    private static boolean within(LocalDateTime date, LocalDateTime start, LocalDateTime end) {
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
+}
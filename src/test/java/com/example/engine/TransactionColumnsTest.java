@@ -0,0 +1,71 @@
+package com.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionColumnsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 0, 0, 0);
+
+    @Test
+    @DisplayName("Rows should keep their values and scales across growth and read back as the same BigDecimals")
+    void add_manyRows_readBackExactly() {
+        TransactionColumns columns = new TransactionColumns(0);
+        long initialFootprint = columns.footprintBytes();
+        for (int row = 0; row < 1_000; row++) {
+            long second = BASE.plusMinutes(row).toEpochSecond(ZoneOffset.UTC);
+            assertEquals(row, columns.add(second, row * 100L, row % 3, 10_000L * (row + 1), 1, row * 7L, 2));
+        }
+
+        assertEquals(1_000, columns.size());
+        assertTrue(columns.footprintBytes() > initialFootprint);
+        assertEquals(36L * 1_024, columns.footprintBytes());
+        for (int row = 0; row < 1_000; row += 97) {
+            assertEquals(BASE.plusMinutes(row), columns.date(row));
+            assertEquals(BigDecimal.valueOf(row).setScale(row % 3), columns.amount(row));
+            assertEquals(BigDecimal.valueOf(10_000L * (row + 1), 2).setScale(1), columns.ceiling(row));
+            assertEquals(BigDecimal.valueOf(row * 7L, 2), columns.remanent(row));
+            assertEquals(TransactionColumns.PENDING, columns.verdict(row));
+            assertNull(columns.inKPeriod(row));
+        }
+    }
+
+    @Test
+    @DisplayName("The verdict and K-period flag should be set independently in the status byte")
+    void setVerdictAndKPeriod_independent() {
+        TransactionColumns columns = new TransactionColumns(2);
+        columns.add(0, 100, 0, 10_000, 1, 9_900, 1);
+
+        columns.setInKPeriod(0, true);
+        columns.setVerdict(0, TransactionColumns.OVER_CAP);
+        assertEquals(TransactionColumns.OVER_CAP, columns.verdict(0));
+        assertEquals(Boolean.TRUE, columns.inKPeriod(0));
+
+        columns.setVerdict(0, TransactionColumns.VALID);
+        columns.setInKPeriod(0, false);
+        assertEquals(TransactionColumns.VALID, columns.verdict(0));
+        assertEquals(Boolean.FALSE, columns.inKPeriod(0));
+    }
+
+    @Test
+    @DisplayName("fits should accept whole-second dates and amounts with zero to two decimal places only")
+    void fits_representableValuesOnly() {
+        assertTrue(TransactionColumns.fits(new BigDecimal("250")));
+        assertTrue(TransactionColumns.fits(new BigDecimal("-0.25")));
+        assertFalse(TransactionColumns.fits(new BigDecimal("0.125")));
+        assertFalse(TransactionColumns.fits(new BigDecimal("1E+2")));
+        assertFalse(TransactionColumns.fits((BigDecimal) null));
+        assertTrue(TransactionColumns.fits(BASE));
+        assertFalse(TransactionColumns.fits(BASE.plusNanos(1)));
+        assertFalse(TransactionColumns.fits((LocalDateTime) null));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.service;
+
+import com.example.dto.BulkValidationSummary;
+import com.example.dto.Expense;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.mapper.TransactionMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {"autosave.bulk.map-window=256B", "autosave.bulk.write-buffer=1KB"})
+class BulkValidationServiceTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private BulkValidationService bulkValidationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Bulk validation should write the same transactions as parsing and filtering the expenses as JSON")
+    void validateTemporalConstraints_csvFile_matchesObjectPipeline() throws IOException {
+        LocalDateTime date = LocalDateTime.of(2023, 3, 1, 8, 0, 0);
+        List<Expense> expenses = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("date,amount\n");
+        for (int i = 0; i < 400; i++) {
+            BigDecimal amount = BigDecimal.valueOf(i % 11 == 0 ? -(i * 13L) : 1_000 + (i * 7_919L) % 40_000, i % 3);
+            LocalDateTime expenseDate = date.plusHours((i * 37L) % 900 * 6);
+            int copies = i % 25 == 3 ? 2 : 1;
+            for (int copy = 0; copy < copies; copy++) {
+                expenses.add(Expense.builder().amount(amount).date(expenseDate).build());
+                csv.append(expenseDate.format(FORMAT)).append(',').append(amount.toPlainString()).append('\n');
+            }
+        }
+        Path input = directory.resolve("expenses.csv");
+        Files.writeString(input, csv);
+        ValidatorRequest rules = ValidatorRequest.builder()
+                .wage(new BigDecimal("1500000.5"))
+                .p(List.of(PConstraint.builder().start(date.plusDays(10)).end(date.plusDays(90)).extra(new BigDecimal("25.5")).build()))
+                .q(List.of(QConstraint.builder().start(date.plusDays(40)).end(date.plusDays(80)).fixed(new BigDecimal("7.25")).build()))
+                .k(List.of(KConstraint.builder().start(date.plusDays(5)).end(date.plusDays(120)).build()))
+                .build();
+
+        BulkValidationSummary summary = bulkValidationService.validateTemporalConstraints(input, rules,
+                directory.resolve("valid.csv"), directory.resolve("invalid.csv"));
+
+        rules.setTransactions(transactionMapper.toDtoList(transactionService.parseExpenses(expenses)));
+        ValidatorResponse expected = transactionService.validateTemporalConstraints(rules);
+        List<String> expectedValid = new ArrayList<>(List.of(BulkValidationService.VALID_HEADER));
+        for (ValidTransactionDto transaction : expected.getValid()) {
+            expectedValid.add(line(transaction.getDate(), transaction.getAmount(), transaction.getCeiling(),
+                    transaction.getRemanent()) + transaction.getInKPeriod());
+        }
+        List<String> expectedInvalid = new ArrayList<>(List.of(BulkValidationService.INVALID_HEADER));
+        for (InvalidTransactionDto transaction : expected.getInvalid()) {
+            expectedInvalid.add(line(transaction.getDate(), transaction.getAmount(), transaction.getCeiling(),
+                    transaction.getRemanent()) + transaction.getMessage());
+        }
+        assertEquals(expectedValid, Files.readAllLines(directory.resolve("valid.csv")));
+        assertEquals(expectedInvalid, Files.readAllLines(directory.resolve("invalid.csv")));
+        assertEquals(expenses.size(), summary.getExpenses());
+        assertEquals(expected.getValid().size(), summary.getValid());
+        assertEquals(expected.getInvalid().size(), summary.getDuplicates() + summary.getNegatives() + summary.getOverCap());
+    }
+
+    private static String line(LocalDateTime date, BigDecimal amount, BigDecimal ceiling, BigDecimal remanent) {
+        return date.format(FORMAT) + "," + amount.toPlainString() + "," + ceiling.toPlainString() + ","
+                + remanent.toPlainString() + ",";
+    }
+}
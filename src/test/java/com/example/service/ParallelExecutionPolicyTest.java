@@ -0,0 +1,96 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelExecutionPolicyTest {
+
+    @Test
+    @DisplayName("map should run inputs below the threshold sequentially and count the path taken")
+    void map_belowThreshold_runsSequentially() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ParallelExecutionPolicy policy = new ParallelExecutionPolicy(registry, 10, 2);
+
+        List<Integer> result = policy.map(List.of(1, 2, 3), i -> i * 2);
+
+        assertEquals(List.of(2, 4, 6), result);
+        assertEquals(1.0, registry.counter("autosave.execution.path", "path", "sequential", "operation", "parse").count());
+        assertEquals(0.0, registry.counter("autosave.execution.path", "path", "parallel", "operation", "parse").count());
+        policy.destroy();
+    }
+
+    @Test
+    @DisplayName("map should keep input order on the dedicated pool for inputs at or above the threshold")
+    void map_aboveThreshold_runsOnPoolInOrder() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ParallelExecutionPolicy policy = new ParallelExecutionPolicy(registry, 10, 2);
+        List<Integer> inputs = IntStream.range(0, 10_000).boxed().toList();
+
+        List<String> threads = policy.map(inputs, i -> Thread.currentThread().getName());
+        List<Integer> result = policy.map(inputs, i -> i + 1);
+
+        assertEquals(IntStream.range(1, 10_001).boxed().toList(), result);
+        assertEquals(2, policy.getParallelism());
+        assertEquals(0, threads.stream().filter(name -> name.startsWith("ForkJoinPool.commonPool")).count());
+        assertEquals(2.0, registry.counter("autosave.execution.path", "path", "parallel", "operation", "parse").count());
+        policy.destroy();
+    }
+
+    @Test
+    @DisplayName("validationChunks should split only batches at or above the validation threshold, and only with a pool of two or more")
+    void validationChunks_byBatchSizeAndParallelism() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ParallelExecutionPolicy policy = new ParallelExecutionPolicy(registry, 10, 100, 2);
+        ParallelExecutionPolicy singleThread = new ParallelExecutionPolicy(registry, 10, 100, 1);
+
+        assertEquals(1, policy.validationChunks(99));
+        assertEquals(8, policy.validationChunks(100));
+        assertEquals(1, singleThread.validationChunks(1_000_000));
+        assertEquals(2.0, registry.counter("autosave.execution.path", "path", "sequential", "operation", "validate").count());
+        assertEquals(1.0, registry.counter("autosave.execution.path", "path", "parallel", "operation", "validate").count());
+        assertEquals(0.0, registry.counter("autosave.execution.path", "path", "sequential", "operation", "parse").count());
+        assertEquals(0.0, registry.counter("autosave.execution.path", "path", "parallel", "operation", "parse").count());
+        policy.destroy();
+        singleThread.destroy();
+    }
+
+    @Test
+    @DisplayName("objectValidationChunks should keep every batch on the caller by default and use its own threshold when set")
+    void objectValidationChunks_offByDefault() {
+        ParallelExecutionPolicy defaults = new ParallelExecutionPolicy(new SimpleMeterRegistry(), 10, 100, 2);
+        ParallelExecutionPolicy enabled = new ParallelExecutionPolicy(new SimpleMeterRegistry(), 10, 100, 1_000, 2);
+
+        assertEquals(1, defaults.objectValidationChunks(Integer.MAX_VALUE - 1));
+        assertEquals(8, defaults.validationChunks(1_000));
+        assertEquals(1, enabled.objectValidationChunks(999));
+        assertEquals(8, enabled.objectValidationChunks(1_000));
+        defaults.destroy();
+        enabled.destroy();
+    }
+
+    @Test
+    @DisplayName("forEach should run every task once on the dedicated pool before returning")
+    void forEach_runsEveryTaskOnPool() {
+        ParallelExecutionPolicy policy = new ParallelExecutionPolicy(new SimpleMeterRegistry(), 10, 100, 2);
+        AtomicIntegerArray runs = new AtomicIntegerArray(1_000);
+        String[] threads = new String[1_000];
+
+        policy.forEach(1_000, task -> {
+            runs.incrementAndGet(task);
+            threads[task] = Thread.currentThread().getName();
+        });
+
+        for (int task = 0; task < 1_000; task++) {
+            assertEquals(1, runs.get(task));
+            assertEquals(false, threads[task].startsWith("ForkJoinPool.commonPool"));
+        }
+        policy.destroy();
+    }
+}
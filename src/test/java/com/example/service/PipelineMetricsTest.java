@@ -0,0 +1,79 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PipelineMetricsTest {
+
+    @Test
+    @DisplayName("record should time every call and publish p50 and p99 when every call is sampled")
+    void record_everyCallSampled_publishesPercentiles() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, 1);
+
+        for (int size = 1; size <= 100; size++) {
+            long start = metrics.start();
+            assertNotEquals(PipelineMetrics.NOT_SAMPLED, start);
+            metrics.record(PipelineMetrics.Stage.SCREEN, start, size);
+        }
+
+        Timer timer = registry.get(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, "screen").timer();
+        HistogramSnapshot sizes = registry.get(PipelineMetrics.STAGE_SIZE).tag(PipelineMetrics.STAGE_TAG, "screen").summary().takeSnapshot();
+        assertEquals(100, timer.count());
+        assertEquals(0, registry.get(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, "cap").timer().count());
+        assertEquals(5050.0, sizes.total());
+        assertEquals(2, timer.takeSnapshot().percentileValues().length);
+        assertEquals(2, Arrays.stream(sizes.percentileValues()).filter(value -> value.value() > 0).count());
+    }
+
+    @Test
+    @DisplayName("record should ignore calls that were not sampled")
+    void record_notSampled_ignored() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, 1);
+
+        metrics.record(PipelineMetrics.Stage.PARSE, PipelineMetrics.NOT_SAMPLED, 10);
+
+        assertEquals(0, registry.get(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, "parse").timer().count());
+        assertEquals(0, registry.get(PipelineMetrics.STAGE_SIZE).tag(PipelineMetrics.STAGE_TAG, "parse").summary().count());
+    }
+
+    @Test
+    @DisplayName("dedupFootprint should record the bytes of sampled screening passes only")
+    void dedupFootprint_sampledOnly_recordedInBytes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, 1);
+
+        metrics.dedupFootprint(metrics.start(), 4_096);
+        metrics.dedupFootprint(PipelineMetrics.NOT_SAMPLED, 1_000_000);
+
+        DistributionSummary footprint = registry.get(PipelineMetrics.DEDUP_FOOTPRINT).summary();
+        assertEquals(1, footprint.count());
+        assertEquals(4_096.0, footprint.totalAmount());
+        assertEquals("bytes", footprint.getId().getBaseUnit());
+    }
+
+    @Test
+    @DisplayName("invalid should count rejections by reason on every call, whatever the sampling")
+    void invalid_counts_taggedByReason() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, 1_000_000);
+
+        metrics.invalid(PipelineMetrics.Reason.DUPLICATE, 3);
+        metrics.invalid(PipelineMetrics.Reason.DUPLICATE, 0);
+        metrics.invalid(PipelineMetrics.Reason.CAP, 2);
+
+        assertEquals(3.0, registry.counter(PipelineMetrics.INVALID, "reason", "duplicate").count());
+        assertEquals(0.0, registry.counter(PipelineMetrics.INVALID, "reason", "negative").count());
+        assertEquals(2.0, registry.counter(PipelineMetrics.INVALID, "reason", "cap").count());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.ReturnBatchItem;
+import com.example.dto.ReturnRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ReturnBatchServiceTest {
+
+    @Autowired
+    private ReturnBatchService returnBatchService;
+
+    @Autowired
+    private ReturnService returnService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Batch returns should match the single-request results, in request order, with failures reported per line")
+    void returns_batch_matchesSingleRequestsInOrder() {
+        LocalDateTime date = LocalDateTime.of(2023, 10, 12, 20, 15, 30);
+        List<ReturnRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            List<Expense> expenses = new ArrayList<>();
+            for (int j = 0; j <= i; j++) {
+                expenses.add(Expense.builder().amount(BigDecimal.valueOf(120 + 37L * j)).date(date.plusDays(j)).build());
+            }
+            requests.add(ReturnRequest.builder()
+                    .age(i == 7 ? null : 25 + i % 20)
+                    .inflation(new BigDecimal("5.5"))
+                    .wage(BigDecimal.valueOf(600_000 + 50_000L * i))
+                    .transactions(expenses)
+                    .k(List.of(KConstraint.builder().start(date).end(date.plusDays(20)).build()))
+                    .build());
+        }
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        returnBatchService.returns(new ByteArrayInputStream(objectMapper.writeValueAsBytes(requests)), response);
+
+        String body = response.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(requests.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            if (i == 7) {
+                JsonNode line = objectMapper.readTree(lines[i]);
+                assertEquals(i, line.get("index").asInt());
+                assertTrue(line.get("error").asString().contains("age"));
+                continue;
+            }
+            ReturnBatchItem expected = ReturnBatchItem.builder()
+                    .index(i)
+                    .nps(returnService.returns(requests.get(i), ReturnType.NPS))
+                    .indexFund(returnService.returns(requests.get(i), ReturnType.INDEX_FUND))
+                    .build();
+            assertEquals(objectMapper.writeValueAsString(expected), lines[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("A failing request whose exception has no message should report the exception type as its error")
+    void compute_exceptionWithoutMessage_reportsExceptionType() {
+        ReturnService failing = mock(ReturnService.class);
+        when(failing.returns(any(ReturnRequest.class), anySet())).thenThrow(new NullPointerException());
+        ReturnBatchService batchService = new ReturnBatchService(failing, objectMapper, 1);
+        try {
+            ReturnBatchItem item = batchService.compute(3, ReturnRequest.builder().build());
+
+            assertEquals(3, item.getIndex().intValue());
+            assertEquals("NullPointerException", item.getError());
+            assertTrue(objectMapper.writeValueAsString(item).contains("\"error\":\"NullPointerException\""));
+        } finally {
+            batchService.destroy();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ReturnServiceCombinedReturnsTest {
+
+    @Autowired
+    private ReturnService returnService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Combined returns should equal the per-type results for every ReturnType")
+    void returns_allTypes_matchPerTypeResults() {
+        LocalDateTime date = LocalDateTime.of(2023, 2, 28, 15, 49, 20);
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            expenses.add(Expense.builder().amount(BigDecimal.valueOf(95 + 113L * (i % 17), i % 3)).date(date.plusDays(i * 3L)).build());
+        }
+        ReturnRequest request = ReturnRequest.builder()
+                .age(29)
+                .inflation(new BigDecimal("5.5"))
+                .wage(new BigDecimal("1450000"))
+                .transactions(expenses)
+                .p(List.of(PConstraint.builder().start(date.plusDays(10)).end(date.plusDays(40)).extra(new BigDecimal("30")).build()))
+                .k(List.of(
+                        KConstraint.builder().start(date).end(date.plusDays(90)).build(),
+                        KConstraint.builder().start(date.plusDays(60)).end(date.plusDays(200)).build()))
+                .build();
+
+        Map<ReturnType, ReturnResponse> combined = returnService.returns(request, EnumSet.allOf(ReturnType.class));
+
+        assertEquals(EnumSet.allOf(ReturnType.class), combined.keySet());
+        for (ReturnType type : ReturnType.values()) {
+            assertEquals(objectMapper.writeValueAsString(returnService.returns(request, type)),
+                    objectMapper.writeValueAsString(combined.get(type)), type.name());
+        }
+    }
+}
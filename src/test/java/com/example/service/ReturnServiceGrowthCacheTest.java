@@ -0,0 +1,64 @@
+package com.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReturnServiceGrowthCacheTest {
+
+    private static final MathContext MC = new MathContext(10, RoundingMode.HALF_UP);
+
+    @Test
+    @DisplayName("A repeated rate, inflation and period should reuse the cached growth and give the uncached value at the same scale")
+    void calculateRealReturn_repeatedInput_cacheHitSameValue() {
+        ReturnService returnService = new ReturnService();
+        BigDecimal principal = new BigDecimal("1234.56");
+        BigDecimal rate = new BigDecimal("0.0711");
+        BigDecimal inflation = new BigDecimal("0.055");
+
+        BigDecimal first = returnService.calculateRealReturn(principal, rate, inflation, 31);
+        BigDecimal second = returnService.calculateRealReturn(principal, rate, inflation, 31);
+        BigDecimal otherPrincipal = returnService.calculateRealReturn(new BigDecimal("50"), rate, inflation, 31);
+
+        assertEquals(1, returnService.growthCacheSize());
+        assertEquals(uncached(principal, rate, inflation, 31), first);
+        assertEquals(first, second);
+        assertEquals(first.scale(), second.scale());
+        assertEquals(uncached(new BigDecimal("50"), rate, inflation, 31), otherPrincipal);
+    }
+
+    @Test
+    @DisplayName("Rates and inflations that differ only in scale should get their own entries, each matching the uncached value")
+    void calculateRealReturn_scaleOnlyDifference_noCollision() {
+        ReturnService returnService = new ReturnService();
+        BigDecimal principal = new BigDecimal("1000");
+        BigDecimal[][] inputs = {
+                {new BigDecimal("0.0711"), new BigDecimal("0.055")},
+                {new BigDecimal("0.07110"), new BigDecimal("0.055")},
+                {new BigDecimal("0.0711"), new BigDecimal("0.0550")},
+        };
+
+        BigDecimal[] results = new BigDecimal[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            results[i] = returnService.calculateRealReturn(principal, inputs[i][0], inputs[i][1], 25);
+        }
+
+        assertEquals(inputs.length, returnService.growthCacheSize());
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(uncached(principal, inputs[i][0], inputs[i][1], 25), results[i], String.valueOf(i));
+            // Served from the cache, the second call keeps the value and scale of the first
+            assertEquals(results[i], returnService.calculateRealReturn(principal, inputs[i][0], inputs[i][1], 25), String.valueOf(i));
+        }
+        assertEquals(inputs.length, returnService.growthCacheSize());
+    }
+
+    private static BigDecimal uncached(BigDecimal principal, BigDecimal rate, BigDecimal inflation, int years) {
+        return principal.multiply(BigDecimal.ONE.add(rate).pow(years, MC))
+                .divide(BigDecimal.ONE.add(inflation).pow(years, MC), MC);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.service;
+
+import com.example.domain.ReturnType;
+import com.example.dto.Expense;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.ReturnRequest;
+import com.example.dto.ReturnSessionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReturnSessionServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 1, 1, 9, 0, 0);
+
+    @Autowired
+    private ReturnSessionService returnSessionService;
+
+    @Autowired
+    private ReturnService returnService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Appending expenses in chunks should give the same results as one request with all of them")
+    void append_randomChunks_matchFullRequest() {
+        assertAppendsMatchFullRequest(new BigDecimal("60000"), 11);
+    }
+
+    @Test
+    @DisplayName("A session without a wage should match a full request in which nothing is invested")
+    void append_noWage_matchesFullRequest() {
+        assertAppendsMatchFullRequest(null, 5);
+    }
+
+    @Test
+    @DisplayName("Appends should count the transactions the session's cap newly rejects, including earlier ones pushed out")
+    void append_capRejections_counted() {
+        double rejected = capRejections();
+        ReturnSessionResponse session = returnSessionService.create(request(new BigDecimal("300"),
+                new ArrayList<>(List.of(expense(BASE.plusDays(2), "100")))));
+        assertEquals(rejected, capRejections());
+
+        // 100 + 250 is over the cap
+        returnSessionService.append(session.getId(), List.of(expense(BASE.plusDays(3), "250")));
+        assertEquals(rejected + 1, capRejections());
+
+        // 50 fits before the 100, and the 250 stays rejected
+        returnSessionService.append(session.getId(), List.of(expense(BASE, "50")));
+        assertEquals(rejected + 1, capRejections());
+
+        // 50 + 200 leaves no room for the 100
+        returnSessionService.append(session.getId(), List.of(expense(BASE.plusDays(1), "200")));
+        assertEquals(rejected + 2, capRejections());
+    }
+
+    @Test
+    @DisplayName("Unknown and deleted sessions should be reported as missing")
+    void get_unknownOrDeletedSession_empty() {
+        ReturnSessionResponse created = returnSessionService.create(request(new BigDecimal("1000"), new ArrayList<>()));
+
+        assertTrue(returnSessionService.get(created.getId()).isPresent());
+        assertTrue(returnSessionService.delete(created.getId()));
+        assertFalse(returnSessionService.get(created.getId()).isPresent());
+        assertFalse(returnSessionService.append(created.getId(), List.of()).isPresent());
+        assertFalse(returnSessionService.delete("missing"));
+    }
+
+    private void assertAppendsMatchFullRequest(BigDecimal wage, long seed) {
+        Random random = new Random(seed);
+        List<Expense> sent = new ArrayList<>();
+        ReturnSessionResponse session = returnSessionService.create(request(wage, nextChunk(random, sent)));
+        assertMatchesFullRequest(session, request(wage, sent));
+
+        for (int chunk = 0; chunk < 25; chunk++) {
+            session = returnSessionService.append(session.getId(), nextChunk(random, sent)).orElseThrow();
+            assertMatchesFullRequest(session, request(wage, sent));
+        }
+        assertEquals(objectMapper.writeValueAsString(session), objectMapper.writeValueAsString(returnSessionService.get(session.getId()).orElseThrow()));
+    }
+
+    private void assertMatchesFullRequest(ReturnSessionResponse session, ReturnRequest fullRequest) {
+        assertEquals(EnumSet.allOf(ReturnType.class), session.getReturns().keySet());
+        for (ReturnType type : ReturnType.values()) {
+            assertEquals(objectMapper.writeValueAsString(returnService.returns(fullRequest, type)),
+                    objectMapper.writeValueAsString(session.getReturns().get(type)), type.name());
+        }
+    }
+
+    private double capRejections() {
+        return meterRegistry.counter(PipelineMetrics.INVALID, "reason", "cap").count();
+    }
+
+    private static Expense expense(LocalDateTime date, String amount) {
+        return Expense.builder().date(date).amount(new BigDecimal(amount)).build();
+    }
+
+    /** A few expenses anywhere in the year, including negatives and repeats of earlier ones; also added to {@code sent}. */
+    private static List<Expense> nextChunk(Random random, List<Expense> sent) {
+        List<Expense> chunk = new ArrayList<>();
+        int size = random.nextInt(12);
+        for (int i = 0; i < size; i++) {
+            Expense expense;
+            if (!sent.isEmpty() && random.nextInt(8) == 0) {
+                Expense earlier = sent.get(random.nextInt(sent.size()));
+                expense = Expense.builder().amount(earlier.getAmount()).date(earlier.getDate()).build();
+            } else {
+                long amount = random.nextInt(8) == 0 ? -random.nextInt(5_000) : random.nextInt(500_000);
+                expense = Expense.builder().amount(BigDecimal.valueOf(amount, 2)).date(BASE.plusHours(random.nextInt(24 * 365))).build();
+            }
+            chunk.add(expense);
+            sent.add(expense);
+        }
+        return chunk;
+    }
+
+    private static ReturnRequest request(BigDecimal wage, List<Expense> expenses) {
+        return ReturnRequest.builder()
+                .age(29)
+                .inflation(new BigDecimal("5.5"))
+                .wage(wage)
+                .transactions(new ArrayList<>(expenses))
+                .p(List.of(PConstraint.builder().start(BASE.plusDays(30)).end(BASE.plusDays(120)).extra(new BigDecimal("25")).build()))
+                .q(List.of(QConstraint.builder().start(BASE.plusDays(200)).end(BASE.plusDays(230)).fixed(new BigDecimal("10")).build()))
+                .k(List.of(
+                        KConstraint.builder().start(BASE).end(BASE.plusDays(364)).build(),
+                        KConstraint.builder().start(BASE.plusDays(60)).end(BASE.plusDays(150)).build(),
+                        KConstraint.builder().start(BASE.plusDays(140)).end(BASE.plusDays(300)).build()))
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -70,4 +71,35 @@ class TaxCalculatorServiceTest {
         BigDecimal expectedTax = new BigDecimal("150000.00").setScale(2, RoundingMode.HALF_UP);
         assertEquals(expectedTax, taxCalculatorService.calculateTax(new BigDecimal("1600000")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Slab-table lookups should equal a slab-by-slab walk, value and scale, for random incomes")
+    void calculateTax_randomIncomes_matchSlabWalk() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal income = BigDecimal.valueOf(random.nextInt(300_000_000), random.nextInt(4));
+            assertEquals(slabWalk(income), taxCalculatorService.calculateTax(income), income.toString());
+            // A second lookup is served from the cache and must be identical.
+            assertEquals(slabWalk(income), taxCalculatorService.calculateTax(income), income.toString());
+        }
+        for (String income : new String[]{"1000000", "1200000", "1500000", "1.6E+6", "1000000.005"}) {
+            assertEquals(slabWalk(new BigDecimal(income)), taxCalculatorService.calculateTax(new BigDecimal(income)), income);
+        }
+    }
+
+    private static BigDecimal slabWalk(BigDecimal income) {
+        BigDecimal[] thresholds = {new BigDecimal("1500000"), new BigDecimal("1200000"), new BigDecimal("1000000"), new BigDecimal("700000")};
+        BigDecimal[] rates = {new BigDecimal("0.30"), new BigDecimal("0.20"), new BigDecimal("0.15"), new BigDecimal("0.10")};
+        if (income.compareTo(thresholds[3]) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal tax = BigDecimal.ZERO;
+        for (int i = 0; i < thresholds.length; i++) {
+            if (income.compareTo(thresholds[i]) > 0) {
+                tax = tax.add(income.subtract(thresholds[i]).multiply(rates[i]));
+                income = thresholds[i];
+            }
+        }
+        return tax;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.mapper.TransactionMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the order of the response lists. Duplicates, negatives and same-date cap ties follow request order; before
+ * the primitive duplicate table they followed the buckets of a {@code HashMap}.
+ */
+@SpringBootTest
+class TransactionServiceOrderingTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 3, 1, 8, 0, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Test
+    @DisplayName("validate should keep the first occurrence of each key and list duplicates, then negatives, in request order")
+    void validate_duplicatesAndNegatives_requestOrder() {
+        List<TransactionDto> transactions = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            transactions.add(dto(BASE.plusDays(i % 7), String.valueOf(100 + i % 5)));
+            if (i % 9 == 0) {
+                transactions.add(dto(BASE.plusDays(i), "-" + (i + 1)));
+            }
+        }
+        List<InvalidTransactionDto> expected = new ArrayList<>();
+        List<TransactionDto> seen = new ArrayList<>();
+        for (TransactionDto transaction : transactions) {
+            if (seen.stream().anyMatch(s -> s.getDate().equals(transaction.getDate()) && s.getAmount().equals(transaction.getAmount()))) {
+                expected.add(invalid(transaction, "Duplicate transaction"));
+            }
+            seen.add(transaction);
+        }
+        transactions.stream()
+                .filter(transaction -> transaction.getAmount().signum() < 0)
+                .forEach(transaction -> expected.add(invalid(transaction, "Negative amounts are not allowed")));
+
+        ValidatorResponse response = transactionService.validate(request(transactions, new BigDecimal("1000000")));
+
+        assertEquals(expected, response.getInvalid());
+        assertEquals(List.of("100", "102", "104", "101", "103"), response.getValid().stream()
+                .filter(valid -> valid.getDate().equals(BASE))
+                .map(valid -> valid.getAmount().toPlainString())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("validate should invest transactions sharing a date in request order when the cap admits only some")
+    void validate_sameDateCapTie_requestOrderWins() {
+        ValidatorResponse larger = transactionService.validate(request(
+                List.of(dto(BASE, "300"), dto(BASE, "200")), new BigDecimal("300")));
+        ValidatorResponse smaller = transactionService.validate(request(
+                List.of(dto(BASE, "200"), dto(BASE, "300")), new BigDecimal("300")));
+
+        assertEquals(List.of(new BigDecimal("300")), amounts(larger.getValid()));
+        assertEquals(List.of(new BigDecimal("200")), larger.getInvalid().stream().map(InvalidTransactionDto::getAmount).toList());
+        assertEquals(List.of(new BigDecimal("200")), amounts(smaller.getValid()));
+        assertEquals(List.of(new BigDecimal("300")), smaller.getInvalid().stream().map(InvalidTransactionDto::getAmount).toList());
+    }
+
+    private InvalidTransactionDto invalid(TransactionDto transaction, String message) {
+        return transactionMapper.toInvalidDto(transactionMapper.toEntity(transaction), message);
+    }
+
+    private static List<BigDecimal> amounts(List<ValidTransactionDto> valid) {
+        return valid.stream().map(ValidTransactionDto::getAmount).toList();
+    }
+
+    private static ValidatorRequest request(List<TransactionDto> transactions, BigDecimal wage) {
+        return ValidatorRequest.builder().wage(wage).transactions(transactions).build();
+    }
+
+    private TransactionDto dto(LocalDateTime date, String amount) {
+        return transactionMapper.toDto(transactionService.parseExpense(
+                Expense.builder().date(date).amount(new BigDecimal(amount)).build()));
+    }
+}
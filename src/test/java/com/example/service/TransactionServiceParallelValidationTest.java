@@ -0,0 +1,209 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.engine.TransactionColumns;
+import com.example.mapper.TransactionMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"autosave.execution.validation-threshold=64", "autosave.execution.object-validation-threshold=64",
+        "autosave.execution.pool-size=4"})
+class TransactionServiceParallelValidationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 3, 1, 8, 0, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionService sequentialService;
+
+    @BeforeEach
+    void setUp() {
+        // The reference: the same service with a policy that never splits a batch
+        sequentialService = new TransactionService();
+        ReflectionTestUtils.setField(sequentialService, "transactionMapper", transactionMapper);
+        ReflectionTestUtils.setField(sequentialService, "pipelineMetrics", pipelineMetrics);
+        ReflectionTestUtils.setField(sequentialService, "executionPolicy",
+                new ParallelExecutionPolicy(new SimpleMeterRegistry(), 1024, Integer.MAX_VALUE, 1));
+    }
+
+    @Test
+    @DisplayName("Chunked columnar validation should settle rows exactly as the sequential object path does")
+    void validateTemporalConstraints_chunkedColumns_matchesObjectPipeline() {
+        ValidatorRequest request = request(5_000, new BigDecimal("40000000.25"));
+        TransactionColumns columns = columnsFor(request);
+        double parallelRuns = validationRuns("parallel");
+        double sequentialRuns = validationRuns("sequential");
+
+        assertSameVerdicts(request, columns);
+        assertEquals(parallelRuns + 1, validationRuns("parallel"));
+        assertEquals(sequentialRuns, validationRuns("sequential"));
+    }
+
+    @Test
+    @DisplayName("Chunked object validation should report the same verdicts, in the same order, as the sequential pass")
+    void validateTemporalConstraints_chunkedObjects_matchesSequentialPipeline() {
+        ValidatorRequest request = request(5_000, new BigDecimal("40000000.25"));
+        double parallelRuns = validationRuns("parallel");
+        double sequentialRuns = validationRuns("sequential");
+
+        assertEquals(sequentialService.validateTemporalConstraints(request), transactionService.validateTemporalConstraints(request));
+        assertEquals(parallelRuns + 1, validationRuns("parallel"));
+        assertEquals(sequentialRuns, validationRuns("sequential"));
+        assertEquals(sequentialService.validate(request), transactionService.validate(request));
+    }
+
+    @Test
+    @DisplayName("Chunked object validation should match the sequential pass for any wage, including ones without a paise form")
+    void validate_chunkedObjectsWithWageExtremes_matchesSequentialPipeline() {
+        for (BigDecimal wage : new BigDecimal[]{null, new BigDecimal("-1"), BigDecimal.ZERO, new BigDecimal("7.5"),
+                new BigDecimal("1000000.005"), new BigDecimal("1E+30")}) {
+            ValidatorRequest request = request(2_000, wage);
+            assertEquals(sequentialService.validateTemporalConstraints(request), transactionService.validateTemporalConstraints(request));
+            assertEquals(sequentialService.validate(request), transactionService.validate(request));
+        }
+    }
+
+    @Test
+    @DisplayName("Chunked object validation should fall back to BigDecimal totals when an amount has no paise form")
+    void validate_chunkedObjectsWithFineAmounts_matchesSequentialPipeline() {
+        ValidatorRequest request = request(2_000, new BigDecimal("20000000"));
+        request.getTransactions().get(1_500).setAmount(new BigDecimal("123.456"));
+
+        assertEquals(sequentialService.validate(request), transactionService.validate(request));
+    }
+
+    @Test
+    @DisplayName("Chunked columnar validation should match the object path when the wage admits every row or none")
+    void validateTemporalConstraints_wageAtExtremes_matchesObjectPipeline() {
+        for (BigDecimal wage : new BigDecimal[]{null, new BigDecimal("-1"), BigDecimal.ZERO, new BigDecimal("1E+30")}) {
+            ValidatorRequest request = request(2_000, wage);
+            assertSameVerdicts(request, columnsFor(request));
+        }
+    }
+
+    @Test
+    @DisplayName("Validating a batch again should not be affected by the verdicts of the earlier run")
+    void validateTemporalConstraints_revalidatedColumns_matchesObjectPipeline() {
+        ValidatorRequest request = request(3_000, new BigDecimal("20000000"));
+        TransactionColumns columns = columnsFor(request);
+        // Without temporal rules, so that only the verdicts are left behind
+        transactionService.validate(columns, new BigDecimal("90000000"));
+
+        assertSameVerdicts(request, columns);
+    }
+
+    @Test
+    @DisplayName("A rule that cannot be applied in columns should fail for the first affected row in input order")
+    void validateTemporalConstraints_unrepresentableRules_throwsForFirstRow() {
+        List<TransactionDto> transactions = new ArrayList<>();
+        transactions.add(dto(BASE.plusDays(50), "120"));
+        for (int i = 0; i < 500; i++) {
+            transactions.add(dto(BASE.plusDays(5).plusMinutes(i), String.valueOf(100 + i)));
+        }
+        TransactionColumns columns = new TransactionColumns(transactions.size());
+        transactions.forEach(transaction -> transactionService.addTo(columns, transaction));
+        List<PConstraint> p = List.of(PConstraint.builder().start(BASE).end(BASE.plusDays(10)).extra(new BigDecimal("0.005")).build());
+        List<QConstraint> q = List.of(QConstraint.builder().start(BASE.plusDays(40)).end(BASE.plusDays(60)).fixed(new BigDecimal("7.125")).build());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.validateTemporalConstraints(columns, BigDecimal.TEN, p, q, List.of()));
+
+        assertTrue(exception.getMessage().startsWith("Q fixed amount 7.125"), exception.getMessage());
+    }
+
+    private void assertSameVerdicts(ValidatorRequest request, TransactionColumns columns) {
+        ValidatorResponse expected = sequentialService.validateTemporalConstraints(request);
+
+        int[] settled = transactionService.validateTemporalConstraints(columns, request.getWage(), request.getP(),
+                request.getQ(), request.getK());
+
+        List<ValidTransactionDto> valid = new ArrayList<>();
+        List<InvalidTransactionDto> invalid = new ArrayList<>();
+        for (int row : settled) {
+            if (columns.verdict(row) == TransactionColumns.VALID) {
+                valid.add(transactionService.toValidDto(columns, row));
+            } else {
+                invalid.add(transactionService.toInvalidDto(columns, row));
+            }
+        }
+        assertEquals(columns.size(), settled.length);
+        assertEquals(expected.getValid(), valid);
+        assertEquals(expected.getInvalid(), invalid);
+    }
+
+    private double validationRuns(String path) {
+        return meterRegistry.counter("autosave.execution.path", "path", path, "operation", "validate").count();
+    }
+
+    private TransactionColumns columnsFor(ValidatorRequest request) {
+        TransactionColumns columns = new TransactionColumns(request.getTransactions().size());
+        request.getTransactions().forEach(transaction -> transactionService.addTo(columns, transaction));
+        return columns;
+    }
+
+    /**
+     * Unsorted expenses over a few hundred distinct dates, with repeats, negatives and amounts at every scale.
+     */
+    private ValidatorRequest request(int count, BigDecimal wage) {
+        Random random = new Random(count);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && random.nextInt(20) == 0) {
+                expenses.add(expenses.get(random.nextInt(i)));
+                continue;
+            }
+            long paise = random.nextInt(30) == 0 ? -random.nextInt(50_000) : random.nextInt(5_000_000);
+            expenses.add(Expense.builder()
+                    .amount(BigDecimal.valueOf(paise, 2).setScale(random.nextInt(3), RoundingMode.DOWN))
+                    .date(BASE.plusHours(random.nextInt(400) * 7L))
+                    .build());
+        }
+        return ValidatorRequest.builder()
+                .wage(wage)
+                .transactions(transactionMapper.toDtoList(transactionService.parseExpenses(expenses)))
+                .p(List.of(PConstraint.builder().start(BASE.plusDays(10)).end(BASE.plusDays(90)).extra(new BigDecimal("25.5")).build()))
+                .q(List.of(QConstraint.builder().start(BASE.plusDays(40)).end(BASE.plusDays(80)).fixed(new BigDecimal("7.25")).build()))
+                .k(List.of(KConstraint.builder().start(BASE.plusDays(5)).end(BASE.plusDays(60)).build()))
+                .build();
+    }
+
+    private TransactionDto dto(LocalDateTime date, String amount) {
+        return transactionMapper.toDto(transactionService.parseExpense(
+                Expense.builder().date(date).amount(new BigDecimal(amount)).build()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.mapper.TransactionMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every call is sampled here, so the streaming parse can be checked against the {@code parse} stage it records.
+ */
+@SpringBootTest(properties = "autosave.metrics.sample-every=1")
+class TransactionStreamServiceMetricsTest {
+
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private ParallelExecutionPolicy executionPolicy;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Streaming parse should time each window in the parse stage and route it through the execution policy")
+    void parseExpenses_stream_recordsParseStageAndExecutionPath() {
+        int threshold = executionPolicy.getThreshold();
+        List<Expense> expenses = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2023, 10, 12, 20, 15, 30);
+        for (int i = 0; i < 2 * threshold + 7; i++) {
+            expenses.add(Expense.builder().amount(BigDecimal.valueOf(i * 3751L, i % 3)).date(date.plusMinutes(i)).build());
+        }
+        long parseCount = meterRegistry.get(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, "parse").timer().count();
+        double parseSize = meterRegistry.get(PipelineMetrics.STAGE_SIZE).tag(PipelineMetrics.STAGE_TAG, "parse").summary().totalAmount();
+        double parallel = pathCount("parallel");
+        double sequential = pathCount("sequential");
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        transactionStreamService.parseExpenses(new ByteArrayInputStream(objectMapper.writeValueAsBytes(expenses)), response);
+
+        assertEquals(parseCount + 3, meterRegistry.get(PipelineMetrics.STAGE_DURATION).tag(PipelineMetrics.STAGE_TAG, "parse").timer().count());
+        assertEquals(parseSize + expenses.size(), meterRegistry.get(PipelineMetrics.STAGE_SIZE).tag(PipelineMetrics.STAGE_TAG, "parse").summary().totalAmount());
+        assertEquals(parallel + 2, pathCount("parallel"));
+        assertEquals(sequential + 1, pathCount("sequential"));
+        String expected = objectMapper.writeValueAsString(transactionMapper.toResponseList(transactionService.parseExpenses(expenses)));
+        assertEquals(expected, response.toString(StandardCharsets.UTF_8));
+    }
+
+    private double pathCount(String path) {
+        return meterRegistry.counter("autosave.execution.path", "path", path, "operation", "parse").count();
+    }
+}
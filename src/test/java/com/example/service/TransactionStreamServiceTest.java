@@ -0,0 +1,193 @@
+package com.example.service;
+
+import com.example.dto.Expense;
+import com.example.dto.InvalidTransactionDto;
+import com.example.dto.KConstraint;
+import com.example.dto.PConstraint;
+import com.example.dto.QConstraint;
+import com.example.dto.TransactionDto;
+import com.example.dto.ValidTransactionDto;
+import com.example.dto.ValidatorRequest;
+import com.example.dto.ValidatorResponse;
+import com.example.dto.ValidatorResponseItem;
+import com.example.mapper.TransactionMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionStreamServiceTest {
+
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Streaming parse should write the same JSON as the buffered parse")
+    void parseExpenses_stream_matchesBufferedParse() {
+        List<Expense> expenses = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2023, 10, 12, 20, 15, 30);
+        for (int i = 0; i < 50; i++) {
+            expenses.add(Expense.builder().amount(BigDecimal.valueOf(i * 3751L, i % 3)).date(date.plusHours(i)).build());
+        }
+        byte[] request = objectMapper.writeValueAsBytes(expenses);
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        transactionStreamService.parseExpenses(new ByteArrayInputStream(request), response);
+
+        String expected = objectMapper.writeValueAsString(transactionMapper.toResponseList(transactionService.parseExpenses(expenses)));
+        assertEquals(expected, response.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Streaming parse should write an empty array for an empty request")
+    void parseExpenses_emptyArray_writesEmptyArray() {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        transactionStreamService.parseExpenses(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals("[]", response.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("NDJSON filter output should contain the buffered response's records in the same order")
+    void validateTemporalConstraints_ndjson_matchesBufferedResponse() {
+        LocalDateTime date = LocalDateTime.of(2023, 10, 12, 20, 15, 30);
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            expenses.add(Expense.builder().amount(BigDecimal.valueOf(i % 7 == 0 ? -120 : 150 + i * 10)).date(date.plusDays(i % 20)).build());
+        }
+        ValidatorRequest request = ValidatorRequest.builder()
+                .transactions(transactionMapper.toDtoList(transactionService.parseExpenses(expenses)))
+                .wage(new BigDecimal("3000"))
+                .p(List.of(PConstraint.builder().start(date).end(date.plusDays(5)).extra(new BigDecimal("25")).build()))
+                .k(List.of(KConstraint.builder().start(date.plusDays(3)).end(date.plusDays(9)).build()))
+                .build();
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        transactionStreamService.validateTemporalConstraints(request, response);
+
+        List<ValidTransactionDto> valid = new ArrayList<>();
+        List<InvalidTransactionDto> invalid = new ArrayList<>();
+        String body = response.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        for (String line : body.split("\n")) {
+            ValidatorResponseItem item = objectMapper.readValue(line, ValidatorResponseItem.class);
+            if (item.getValid() != null) {
+                valid.add(item.getValid());
+            } else {
+                invalid.add(item.getInvalid());
+            }
+        }
+
+        ValidatorResponse expected = transactionService.validateTemporalConstraints(request);
+        assertEquals(objectMapper.writeValueAsString(expected.getValid()), objectMapper.writeValueAsString(valid));
+        assertEquals(objectMapper.writeValueAsString(expected.getInvalid()), objectMapper.writeValueAsString(invalid));
+    }
+
+    @Test
+    @DisplayName("Columnar validation should write exactly the NDJSON of the object-based path")
+    void validateColumnar_mixedRequest_matchesNdjson() {
+        ValidatorRequest request = columnarRequest(new BigDecimal("4000.5"));
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        transactionStreamService.validate(request, expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        transactionStreamService.validateColumnar(new ByteArrayInputStream(objectMapper.writeValueAsBytes(request)), actual);
+
+        assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Columnar temporal validation should write exactly the NDJSON of the object-based path")
+    void validateTemporalConstraintsColumnar_mixedRequest_matchesNdjson() {
+        for (BigDecimal wage : new BigDecimal[]{new BigDecimal("4000.5"), new BigDecimal("0.009"), null}) {
+            ValidatorRequest request = columnarRequest(wage);
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            transactionStreamService.validateTemporalConstraints(request, expected);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            transactionStreamService.validateTemporalConstraintsColumnar(new ByteArrayInputStream(objectMapper.writeValueAsBytes(request)), actual);
+
+            assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8), "wage " + wage);
+        }
+    }
+
+    @Test
+    @DisplayName("Columnar validation should reject transactions that are not an array instead of reading into them")
+    void validateColumnar_transactionsObject_rejected() {
+        byte[] request = """
+                {"transactions": {"wage": 1, "p": [{"start": "2023-01-01 00:00:00"}]}, "wage": 1000}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> transactionStreamService.validateColumnar(new ByteArrayInputStream(request), new ByteArrayOutputStream()));
+
+        assertEquals("Expected transactions to be a JSON array", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Columnar validation should treat null transactions as none")
+    void validateColumnar_nullTransactions_empty() {
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        transactionStreamService.validateColumnar(new ByteArrayInputStream(
+                "{\"transactions\": null, \"wage\": 1000}".getBytes(StandardCharsets.UTF_8)), actual);
+
+        assertEquals("", actual.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Shuffled dates, repeats with equal and different scales, negatives, client-supplied ceilings and
+     * overlapping P and Q periods with different scales.
+     */
+    private ValidatorRequest columnarRequest(BigDecimal wage) {
+        LocalDateTime date = LocalDateTime.of(2023, 3, 1, 8, 0, 0);
+        List<TransactionDto> transactions = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            BigDecimal amount = BigDecimal.valueOf(i % 9 == 0 ? -(i * 13L) : 1_000 + (i * 7_919L) % 40_000, i % 3);
+            TransactionDto.TransactionDtoBuilder<?, ?> transaction = TransactionDto.builder()
+                    .amount(amount)
+                    .date(date.plusHours((i * 37L) % 90 * 24));
+            if (i % 4 == 0) {
+                transaction.ceiling(new BigDecimal("1000")).remanent(new BigDecimal("12.5"));
+            }
+            transactions.add(transaction.build());
+            if (i % 10 == 5) {
+                transactions.add(transaction.build());
+                transactions.add(transaction.amount(amount.scale() < 2 ? amount.setScale(amount.scale() + 1) : amount).build());
+            }
+        }
+        return ValidatorRequest.builder()
+                .transactions(transactions)
+                .wage(wage)
+                .p(List.of(
+                        PConstraint.builder().start(date.plusDays(10)).end(date.plusDays(40)).extra(new BigDecimal("25")).build(),
+                        PConstraint.builder().start(date.plusDays(30)).end(date.plusDays(60)).extra(new BigDecimal("0.5")).build()))
+                .q(List.of(
+                        QConstraint.builder().start(date.plusDays(20)).end(date.plusDays(50)).fixed(new BigDecimal("7.25")).build(),
+                        QConstraint.builder().start(date.plusDays(35)).end(date.plusDays(45)).fixed(new BigDecimal("0")).build()))
+                .k(List.of(KConstraint.builder().start(date.plusDays(5)).end(date.plusDays(70)).build()))
+                .build();
+    }
+}